@@ -0,0 +1,78 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc. 2021-2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Systems Inc.
+ * and its suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.benchmarks.i18n;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+
+/**
+ * Runs the localization benchmarks.
+ * <br>
+ * Without argument, all the benchmarks are run with <b>1</b>, <b>4</b> and <b>16</b> threads along with the
+ * <b>GC</b> profiler (allocation rate and allocated bytes per operation), each run writing its results to
+ * <b>jmh-result-&lt;threads&gt;t.json</b>. With arguments, they are passed as is to the JMH command line (ex.:
+ * <b>java -jar target/benchmarks.jar LookupBenchmark -t 4 -prof gc</b>).
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+public final class BenchmarkRunner
+{
+    /**
+     * Number of threads of the benchmark runs.
+     */
+    private static final int[] THREADS = { 1, 4, 16 };
+
+    /**
+     * Utility class.
+     */
+    private BenchmarkRunner()
+    {
+        // Empty
+    }
+
+    /**
+     * Run the benchmarks.
+     * @param arguments JMH command line arguments (optional).
+     * @throws RunnerException Thrown to indicate an error occurred while running the benchmarks.
+     * @throws IOException Thrown to indicate the command line arguments cannot be parsed.
+     */
+    public static void main(final String[] arguments) throws RunnerException, IOException
+    {
+        if (arguments.length > 0)
+        {
+            org.openjdk.jmh.Main.main(arguments);
+            return;
+        }
+
+        for (int threads : THREADS)
+        {
+            Options options = new OptionsBuilder()
+                    .include(BenchmarkRunner.class.getPackageName() + ".*Benchmark")
+                    .threads(threads)
+                    .addProfiler(GCProfiler.class)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result(String.format("jmh-result-%dt.json", threads))
+                    .build();
+
+            new Runner(options).run();
+        }
+    }
+}
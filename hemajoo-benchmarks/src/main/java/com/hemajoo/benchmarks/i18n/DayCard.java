@@ -12,46 +12,51 @@
  * Hemajoo Systems Inc.
  * -----------------------------------------------------------------------------------------------
  */
-package com.hemajoo.i18n.core.localization;
+package com.hemajoo.benchmarks.i18n;
 
+import com.hemajoo.i18n.core.annotation.I18n;
+import com.hemajoo.i18n.core.localization.Localize;
+import com.hemajoo.i18n.data.DayType;
 import lombok.Getter;
-import lombok.NoArgsConstructor;
 import lombok.NonNull;
 import lombok.Setter;
 
-import java.lang.annotation.Annotation;
-import java.lang.reflect.Field;
-
 /**
- * Field localization context.
+ * An annotated object used to benchmark the localization of objects through {@link Localize#localize()}.
  * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
  * @version 1.0.0
  */
-@NoArgsConstructor
-public class LocalizationFieldContext
+@I18n(bundle = "i18n/day")
+public final class DayCard implements Localize
 {
     /**
-     * Field.
+     * Day.
      */
     @Getter
-    @Setter
-    private Field field;
+    private final DayType day;
 
     /**
-     * Field's localization annotation.
+     * Localized name of the day.
      */
+    @Setter
     @Getter
+    @I18n(key = "day.${day}.name")
+    private String name;
+
+    /**
+     * Localized description of the day.
+     */
     @Setter
-    private Annotation fieldAnnotation;
+    @Getter
+    @I18n(key = "day.${day}.description")
+    private String description;
 
     /**
-     * Create a field localization context.
-     * @param field Field.
-     * @param annotation Localization annotation.
+     * Create a day card.
+     * @param day Day.
      */
-    public LocalizationFieldContext(final @NonNull Field field, final @NonNull Annotation annotation)
+    public DayCard(final @NonNull DayType day)
     {
-        this.field = field;
-        this.fieldAnnotation = annotation;
+        this.day = day;
     }
 }
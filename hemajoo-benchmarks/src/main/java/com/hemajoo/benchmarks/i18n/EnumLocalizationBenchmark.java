@@ -0,0 +1,70 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc. 2021-2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Systems Inc.
+ * and its suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.benchmarks.i18n;
+
+import com.hemajoo.i18n.core.localization.LocalizationException;
+import com.hemajoo.i18n.core.localization.LocalizeEnum;
+import com.hemajoo.i18n.core.localization.data.MonthType;
+import com.hemajoo.i18n.data.DayType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the localization of enumerated values through {@link LocalizeEnum#getName(Locale)}.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EnumLocalizationBenchmark
+{
+    /**
+     * Locale.
+     */
+    @Param({ "fr", "en", "ja" })
+    public String language;
+
+    /**
+     * Locale matching the language.
+     */
+    private Locale locale;
+
+    /**
+     * Resolve the locale.
+     */
+    @Setup
+    public void setup()
+    {
+        locale = Locale.forLanguageTag(language);
+    }
+
+    @Benchmark
+    public String dayName() throws LocalizationException
+    {
+        return DayType.MONDAY.getName(locale);
+    }
+
+    @Benchmark
+    public String monthName() throws LocalizationException
+    {
+        return MonthType.JANUARY.getName(locale);
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc. 2021-2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Systems Inc.
+ * and its suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.benchmarks.i18n;
+
+import com.hemajoo.i18n.core.localization.I18nManager;
+import com.hemajoo.i18n.core.localization.InstantLocalization;
+import com.hemajoo.i18n.core.localization.LocalizationException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the instant localizations through {@link InstantLocalization}.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InstantLocalizationBenchmark
+{
+    /**
+     * Resource bundle key.
+     */
+    private static final String KEY = "day.MONDAY.name";
+
+    /**
+     * Load the resource bundles.
+     * @throws LocalizationException Thrown to indicate a resource bundle cannot be loaded.
+     */
+    @Setup
+    public void setup() throws LocalizationException
+    {
+        I18nManager.getInstance().load("i18n/day");
+    }
+
+    @Benchmark
+    public InstantLocalization from() throws LocalizationException
+    {
+        return InstantLocalization.from(KEY, Locale.FRENCH);
+    }
+
+    @Benchmark
+    public String asString() throws LocalizationException
+    {
+        return InstantLocalization.asString(KEY, Locale.FRENCH);
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc. 2021-2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Systems Inc.
+ * and its suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.benchmarks.i18n;
+
+import com.hemajoo.i18n.core.localization.I18nManager;
+import com.hemajoo.i18n.core.localization.LocalizationException;
+import com.hemajoo.i18n.core.localization.Localize;
+import com.hemajoo.i18n.data.DayType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the localization of annotated objects through {@link Localize#localize(Locale)}.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LocalizeBenchmark
+{
+    /**
+     * Number of objects of a batch.
+     */
+    private static final int BATCH_SIZE = 1024;
+
+    /**
+     * Object to localize (owned by the benchmark thread).
+     */
+    private DayCard card;
+
+    /**
+     * Batch of objects to localize (owned by the benchmark thread).
+     */
+    private List<DayCard> batch;
+
+    /**
+     * Create the objects to localize.
+     */
+    @Setup
+    public void setup()
+    {
+        DayType[] days = DayType.values();
+
+        card = new DayCard(DayType.FRIDAY);
+        batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++)
+        {
+            batch.add(new DayCard(days[i % days.length]));
+        }
+    }
+
+    @Benchmark
+    public String localize() throws LocalizationException
+    {
+        card.localize(Locale.FRENCH);
+
+        return card.getName();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public List<DayCard> localizeAll() throws LocalizationException
+    {
+        I18nManager.getInstance().localizeAll(batch, Locale.FRENCH);
+
+        return batch;
+    }
+}
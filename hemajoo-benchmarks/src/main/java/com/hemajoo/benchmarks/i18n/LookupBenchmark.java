@@ -0,0 +1,118 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc. 2021-2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Systems Inc.
+ * and its suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.benchmarks.i18n;
+
+import com.hemajoo.i18n.core.localization.I18nManager;
+import com.hemajoo.i18n.core.localization.LocalizationException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Locale;
+import java.util.Optional;
+import java.util.ResourceBundle;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the resource bundle key lookups of the {@link I18nManager}, compared to a plain
+ * {@link ResourceBundle#getString(String)}.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LookupBenchmark
+{
+    /**
+     * Resource bundle path and name.
+     */
+    private static final String BUNDLE = "i18n/day";
+
+    /**
+     * Existing resource bundle key.
+     */
+    private static final String KEY = "day.MONDAY.name";
+
+    /**
+     * Non-existing resource bundle key.
+     */
+    private static final String MISSING_KEY = "day.NEVER.name";
+
+    /**
+     * Locale without resource bundle of its own language (falls back on the default locale).
+     */
+    private static final Locale FALLBACK_LOCALE = Locale.JAPANESE;
+
+    /**
+     * Localization manager.
+     */
+    private I18nManager manager;
+
+    /**
+     * Plain resource bundle (baseline).
+     */
+    private ResourceBundle bundle;
+
+    /**
+     * Load the resource bundles.
+     * @throws LocalizationException Thrown to indicate a resource bundle cannot be loaded.
+     */
+    @Setup
+    public void setup() throws LocalizationException
+    {
+        manager = I18nManager.getInstance();
+        manager.load(BUNDLE);
+        bundle = ResourceBundle.getBundle(BUNDLE, Locale.FRENCH);
+    }
+
+    @Benchmark
+    public String baseline()
+    {
+        return bundle.getString(KEY);
+    }
+
+    @Benchmark
+    public String hit() throws LocalizationException
+    {
+        return manager.get(BUNDLE, KEY, Locale.FRENCH);
+    }
+
+    @Benchmark
+    public String miss()
+    {
+        try
+        {
+            return manager.get(BUNDLE, MISSING_KEY, Locale.FRENCH);
+        }
+        catch (LocalizationException e)
+        {
+            return null;
+        }
+    }
+
+    @Benchmark
+    public Optional<String> missWithoutException()
+    {
+        return manager.find(BUNDLE, MISSING_KEY, Locale.FRENCH);
+    }
+
+    @Benchmark
+    public String fallback() throws LocalizationException
+    {
+        return manager.get(BUNDLE, KEY, FALLBACK_LOCALE);
+    }
+}
@@ -0,0 +1,710 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc. 2021-2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Systems Inc.
+ * and its suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.i18n.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+
+/**
+ * Annotation processor generating, for each type using the <b>I18n</b> annotation, a <b>localizer</b> class named after the
+ * type (ex.: <b>DayTypeLocalizer</b> for <b>DayType</b>).
+ * <br><br>
+ * A generated localizer provides a static service for each localized element of the type:
+ * <ul>
+ *     <li>a service named after each public method annotated with the <b>I18n</b> annotation (ex.: <b>getName(DayType, Locale)</b>)</li>
+ *     <li>a <b>getName</b> service for enumerations implementing <b>LocalizeEnum</b> and annotated at the type level</li>
+ *     <li>a <b>localizeFields</b> service setting all the fields annotated with the <b>I18n</b> annotation</li>
+ * </ul>
+ * Resource bundle and key templates are resolved at compile time into plain string constants and getter invocations, so
+ * the generated code neither uses reflection, nor parses templates, nor walks the stack at runtime.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@SupportedAnnotationTypes(I18nLocalizerProcessor.I18N_ANNOTATION)
+public class I18nLocalizerProcessor extends AbstractProcessor
+{
+    /**
+     * Localization annotation type name.
+     */
+    static final String I18N_ANNOTATION = "com.hemajoo.i18n.core.annotation.I18n";
+
+    /**
+     * Localized enumeration interface type name.
+     */
+    private static final String LOCALIZE_ENUM = "com.hemajoo.i18n.core.localization.LocalizeEnum";
+
+    /**
+     * Localization manager type name.
+     */
+    private static final String I18N_MANAGER = "com.hemajoo.i18n.core.localization.I18nManager";
+
+    /**
+     * Localization exception type name.
+     */
+    private static final String LOCALIZATION_EXCEPTION = "com.hemajoo.i18n.core.localization.LocalizationException";
+
+    /**
+     * Suffix of the generated localizer classes.
+     */
+    private static final String LOCALIZER_SUFFIX = "Localizer";
+
+    /**
+     * Name of the generated service localizing the annotated fields.
+     */
+    private static final String FIELDS_METHOD_NAME = "localizeFields";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion()
+    {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnvironment)
+    {
+        TypeElement annotation = processingEnv.getElementUtils().getTypeElement(I18N_ANNOTATION);
+        if (annotation == null)
+        {
+            return false;
+        }
+
+        Set<TypeElement> types = new LinkedHashSet<>();
+        for (Element element : roundEnvironment.getElementsAnnotatedWith(annotation))
+        {
+            if (element instanceof TypeElement type)
+            {
+                types.add(type);
+            }
+            else if (element.getEnclosingElement() instanceof TypeElement type)
+            {
+                types.add(type);
+            }
+        }
+
+        for (TypeElement type : types)
+        {
+            if (isAccessible(type))
+            {
+                generate(type);
+            }
+        }
+
+        return false; // Do not claim the annotation, the runtime localization still uses it
+    }
+
+    /**
+     * Generate the localizer of a type.
+     * <br>
+     * The localized elements follow the rules of the runtime localization: the type annotation only applies to the methods
+     * of enumerations, the annotated fields are collected in the whole class hierarchy and all take the annotation of the
+     * class declaring the first of them.
+     * @param type Type.
+     */
+    private void generate(final TypeElement type)
+    {
+        Localization classLocalization = Localization.of(findI18n(type));
+        Localization methodClassLocalization = type.getKind() == ElementKind.ENUM ? classLocalization : Localization.of(null);
+        Map<String, Localization> methods = new LinkedHashMap<>();
+        Map<VariableElement, Localization> fields = new LinkedHashMap<>();
+
+        for (Element member : type.getEnclosedElements())
+        {
+            AnnotationMirror mirror = findI18n(member);
+            if (mirror != null && member.getKind() == ElementKind.METHOD && isLocalizationMethod((ExecutableElement) member))
+            {
+                methods.putIfAbsent(member.getSimpleName().toString(), Localization.of(mirror).over(methodClassLocalization));
+            }
+        }
+
+        List<VariableElement> annotatedFields = findAnnotatedFields(type);
+        Localization fieldClassLocalization = annotatedFields.isEmpty() ? classLocalization : Localization.of(findI18n(annotatedFields.get(0).getEnclosingElement()));
+        for (VariableElement field : annotatedFields)
+        {
+            fields.put(field, Localization.of(findI18n(field)).over(fieldClassLocalization));
+        }
+
+        // Enumerations implementing LocalizeEnum inherit a 'getName' service localized through the type annotation
+        TypeElement localizeEnum = processingEnv.getElementUtils().getTypeElement(LOCALIZE_ENUM);
+        if (type.getKind() == ElementKind.ENUM && localizeEnum != null
+                && processingEnv.getTypeUtils().isAssignable(type.asType(), processingEnv.getTypeUtils().erasure(localizeEnum.asType())))
+        {
+            methods.putIfAbsent("getName", classLocalization);
+        }
+
+        if (methods.isEmpty() && fields.isEmpty())
+        {
+            return;
+        }
+
+        write(type, methods, fields);
+    }
+
+    /**
+     * Write the source file of a localizer.
+     * @param type Localized type.
+     * @param methods Localized methods (k = method name, v = localization).
+     * @param fields Localized fields.
+     */
+    private void write(final TypeElement type, final Map<String, Localization> methods, final Map<VariableElement, Localization> fields)
+    {
+        String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        String localizerName = localizerName(type);
+        String typeName = typeName(type);
+
+        StringBuilder constants = new StringBuilder();
+        StringBuilder services = new StringBuilder();
+
+        for (Map.Entry<String, Localization> entry : methods.entrySet())
+        {
+            String name = entry.getKey();
+            Localization localization = entry.getValue();
+            String lookup = lookupExpression(type, name, localization, constants);
+            if (lookup == null)
+            {
+                continue;
+            }
+
+            services.append("\n")
+                    .append("    /**\n")
+                    .append("     * Localize the <b>").append(name).append("</b> element of a {@link ").append(type.getSimpleName()).append("}.\n")
+                    .append("     * @param instance Instance.\n")
+                    .append("     * @param locale Locale.\n")
+                    .append("     * @return Localized value.\n")
+                    .append("     * @throws ").append(LOCALIZATION_EXCEPTION).append(" Thrown to indicate an error occurred while trying to localize a resource.\n")
+                    .append("     */\n")
+                    .append("    public static String ").append(name).append("(final ").append(typeName).append(" instance, final java.util.Locale locale) throws ").append(LOCALIZATION_EXCEPTION).append("\n")
+                    .append("    {\n")
+                    .append("        return ").append(lookup).append(";\n")
+                    .append("    }\n");
+        }
+
+        if (!fields.isEmpty())
+        {
+            StringBuilder body = new StringBuilder();
+            for (Map.Entry<VariableElement, Localization> entry : fields.entrySet())
+            {
+                String name = entry.getKey().getSimpleName().toString();
+                String lookup = lookupExpression(type, name, entry.getValue(), constants);
+                if (lookup == null)
+                {
+                    continue;
+                }
+
+                String statement = setterStatement(type, entry.getKey(), lookup);
+                body.append("        ").append(statement).append("\n");
+                if (statement.startsWith("throw "))
+                {
+                    break; // Same failure as the runtime localization, the next fields are not localized
+                }
+            }
+
+            services.append("\n")
+                    .append("    /**\n")
+                    .append("     * Localize all the fields annotated with the <b>I18n</b> annotation of a {@link ").append(type.getSimpleName()).append("}.\n")
+                    .append("     * @param instance Instance.\n")
+                    .append("     * @param locale Locale.\n")
+                    .append("     * @throws ").append(LOCALIZATION_EXCEPTION).append(" Thrown to indicate an error occurred while trying to localize a resource.\n")
+                    .append("     */\n")
+                    .append("    public static void ").append(FIELDS_METHOD_NAME).append("(final ").append(typeName).append(" instance, final java.util.Locale locale) throws ").append(LOCALIZATION_EXCEPTION).append("\n")
+                    .append("    {\n")
+                    .append(body)
+                    .append("    }\n");
+        }
+
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty())
+        {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("/**\n")
+                .append(" * Localizer generated for {@link ").append(type.getQualifiedName()).append("}.\n")
+                .append(" */\n")
+                .append("@javax.annotation.processing.Generated(\"").append(getClass().getName()).append("\")\n")
+                .append("public final class ").append(localizerName).append("\n")
+                .append("{\n")
+                .append(constants)
+                .append("    private ").append(localizerName).append("()\n")
+                .append("    {\n")
+                .append("        // Utility class\n")
+                .append("    }\n")
+                .append(services)
+                .append("}\n");
+
+        String qualifiedName = packageName.isEmpty() ? localizerName : packageName + "." + localizerName;
+        try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedName, type).openWriter())
+        {
+            writer.write(source.toString());
+        }
+        catch (IOException e)
+        {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, String.format("Cannot generate localizer: '%s': %s", qualifiedName, e.getMessage()), type);
+        }
+    }
+
+    /**
+     * Build the expression retrieving the localized value of an element.
+     * @param type Localized type.
+     * @param name Element name.
+     * @param localization Element localization.
+     * @param constants Constants of the localizer (updated if the element requires a constant).
+     * @return Lookup expression or <b>null</b> if the element cannot be localized.
+     */
+    private String lookupExpression(final TypeElement type, final String name, final Localization localization, final StringBuilder constants)
+    {
+        if (localization.bundle.isEmpty() || localization.key.isEmpty())
+        {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, String.format("Element: '%s' of type: '%s' does not provide a valid 'bundle' and 'key', no localizer generated for it!", name, type.getQualifiedName()), type);
+            return null;
+        }
+
+        String bundle = templateExpression(type, KeyTemplate.parse(localization.bundle), name, "BUNDLES", constants);
+        String key = templateExpression(type, KeyTemplate.parse(localization.key), name, "KEYS", constants);
+        if (bundle == null || key == null)
+        {
+            return null;
+        }
+
+        // Same bundle scoped resolution as the runtime localization of the annotated elements
+        return I18N_MANAGER + ".getInstance().getKey(" + bundle + ", " + key + ", locale)";
+    }
+
+    /**
+     * Build the expression expanding a template.
+     * <br>
+     * Templates of enumerations only referencing <b>${this}</b> are expanded for each enumerated value into a constant table indexed by ordinal.
+     * @param type Localized type.
+     * @param template Template.
+     * @param name Element name.
+     * @param suffix Suffix of the constant table name.
+     * @param constants Constants of the localizer (updated if the template requires a constant table).
+     * @return Expression or <b>null</b> if a variable of the template cannot be resolved.
+     */
+    private String templateExpression(final TypeElement type, final KeyTemplate template, final String name, final String suffix, final StringBuilder constants)
+    {
+        if (template.isConstant())
+        {
+            return KeyTemplate.literal(template.getSegments().get(0));
+        }
+
+        if (type.getKind() == ElementKind.ENUM && template.dependsOnlyOnThis())
+        {
+            String table = constantName(name) + "_" + suffix;
+            constants.append("    private static final String[] ").append(table).append(" = {\n");
+            for (Element member : type.getEnclosedElements())
+            {
+                if (member.getKind() == ElementKind.ENUM_CONSTANT)
+                {
+                    constants.append("            ").append(KeyTemplate.literal(template.expand(member.getSimpleName().toString()))).append(",\n");
+                }
+            }
+            constants.append("    };\n\n");
+
+            return table + "[instance.ordinal()]";
+        }
+
+        List<String> parts = new ArrayList<>();
+        List<String> segments = template.getSegments();
+        for (int i = 0; i < segments.size(); i++)
+        {
+            if (i % 2 == 0)
+            {
+                if (!segments.get(i).isEmpty())
+                {
+                    parts.add(KeyTemplate.literal(segments.get(i)));
+                }
+            }
+            else
+            {
+                String accessor = accessorExpression(type, segments.get(i));
+                if (accessor == null)
+                {
+                    processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, String.format("Cannot resolve variable: '%s' of element: '%s' in type: '%s', no localizer generated for it!", segments.get(i), name, type.getQualifiedName()), type);
+                    return null;
+                }
+                parts.add(accessor);
+            }
+        }
+
+        return parts.size() == 1 ? "String.valueOf(" + parts.get(0) + ")" : String.join(" + ", parts);
+    }
+
+    /**
+     * Build the expression returning the value of a variable as a string.
+     * @param type Localized type.
+     * @param variable Variable name.
+     * @return Expression or <b>null</b> if the variable cannot be resolved.
+     */
+    private String accessorExpression(final TypeElement type, final String variable)
+    {
+        if (KeyTemplate.THIS.equals(variable))
+        {
+            return type.getKind() == ElementKind.ENUM ? "instance.name()" : "String.valueOf(instance)";
+        }
+
+        String capitalized = Character.toUpperCase(variable.charAt(0)) + variable.substring(1);
+        for (String methodName : List.of("get" + capitalized, "is" + capitalized, variable))
+        {
+            ExecutableElement method = findMethod(type, methodName, 0);
+            if (method != null)
+            {
+                return asString("instance." + methodName + "()", method.getReturnType());
+            }
+        }
+
+        VariableElement field = findField(type, variable);
+        if (field == null)
+        {
+            return null;
+        }
+
+        if (!field.getModifiers().contains(Modifier.PRIVATE))
+        {
+            return asString("instance." + variable, field.asType());
+        }
+
+        // Getter not visible yet (ex.: generated by Lombok), rely on the Java beans naming convention
+        String getter = (field.asType().getKind() == TypeKind.BOOLEAN ? "is" : "get") + capitalized;
+        return asString("instance." + getter + "()", field.asType());
+    }
+
+    /**
+     * Build the statement setting the localized value of a field.
+     * <br>
+     * As for the runtime localization, the field is set through a public setter taking either a {@link String} or a
+     * {@link String} and a {@link Locale}. If the field has no such setter, the statement raises the localization exception
+     * the runtime localization raises.
+     * @param type Localized type.
+     * @param field Field.
+     * @param lookup Lookup expression.
+     * @return Statement.
+     */
+    private String setterStatement(final TypeElement type, final VariableElement field, final String lookup)
+    {
+        String name = field.getSimpleName().toString();
+        String setter = "set" + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+
+        if (findSetter(type, setter, List.of(String.class.getName())) != null)
+        {
+            return "instance." + setter + "(" + lookup + ");";
+        }
+
+        if (findSetter(type, setter, List.of(String.class.getName(), Locale.class.getName())) != null)
+        {
+            return "instance." + setter + "(" + lookup + ", locale);";
+        }
+
+        String signature = processingEnv.getElementUtils().getBinaryName(type) + "." + setter + "(" + String.class.getName() + ")";
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, String.format("Field: '%s' of type: '%s' does not have a public setter, its localization fails!", name, type.getQualifiedName()), field);
+
+        return "throw new " + LOCALIZATION_EXCEPTION + "(" + KeyTemplate.literal(signature) + ");";
+    }
+
+    /**
+     * Build the expression converting a value to a string.
+     * @param expression Value expression.
+     * @param valueType Value type.
+     * @return Expression.
+     */
+    private String asString(final String expression, final TypeMirror valueType)
+    {
+        if (valueType.getKind() == TypeKind.DECLARED)
+        {
+            Element element = ((DeclaredType) valueType).asElement();
+            if (element.getKind() == ElementKind.ENUM)
+            {
+                return expression + ".name()";
+            }
+
+            if (element instanceof TypeElement typeElement && typeElement.getQualifiedName().contentEquals("java.lang.String"))
+            {
+                return expression;
+            }
+        }
+
+        return "String.valueOf(" + expression + ")";
+    }
+
+    /**
+     * Find a non-private instance method in a type hierarchy.
+     * @param type Type.
+     * @param name Method name.
+     * @param parameterCount Number of parameters.
+     * @return Method if found, <b>null</b> otherwise.
+     */
+    private ExecutableElement findMethod(final TypeElement type, final String name, final int parameterCount)
+    {
+        for (Element member : processingEnv.getElementUtils().getAllMembers(type))
+        {
+            if (member.getKind() == ElementKind.METHOD
+                    && member.getSimpleName().contentEquals(name)
+                    && ((ExecutableElement) member).getParameters().size() == parameterCount
+                    && !member.getModifiers().contains(Modifier.PRIVATE)
+                    && !member.getModifiers().contains(Modifier.STATIC))
+            {
+                return (ExecutableElement) member;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Find a public instance setter in a type hierarchy.
+     * @param type Type.
+     * @param name Setter name.
+     * @param parameterTypes Qualified names of the parameter types.
+     * @return Setter if found, <b>null</b> otherwise.
+     */
+    private ExecutableElement findSetter(final TypeElement type, final String name, final List<String> parameterTypes)
+    {
+        for (Element member : processingEnv.getElementUtils().getAllMembers(type))
+        {
+            if (member.getKind() == ElementKind.METHOD
+                    && member.getSimpleName().contentEquals(name)
+                    && member.getModifiers().contains(Modifier.PUBLIC)
+                    && !member.getModifiers().contains(Modifier.STATIC))
+            {
+                List<String> types = new ArrayList<>();
+                for (VariableElement parameter : ((ExecutableElement) member).getParameters())
+                {
+                    types.add(processingEnv.getTypeUtils().erasure(parameter.asType()).toString());
+                }
+
+                if (types.equals(parameterTypes))
+                {
+                    return (ExecutableElement) member;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Find the instance fields annotated with the <b>I18n</b> annotation in a type hierarchy, the fields of the type
+     * coming first, then the ones of its super classes.
+     * @param type Type.
+     * @return Annotated fields.
+     */
+    private List<VariableElement> findAnnotatedFields(final TypeElement type)
+    {
+        List<VariableElement> fields = new ArrayList<>();
+
+        TypeElement current = type;
+        while (current != null)
+        {
+            for (Element member : current.getEnclosedElements())
+            {
+                if (member.getKind() == ElementKind.FIELD && !member.getModifiers().contains(Modifier.STATIC) && findI18n(member) != null)
+                {
+                    fields.add((VariableElement) member);
+                }
+            }
+
+            TypeMirror superclass = current.getSuperclass();
+            current = superclass.getKind() == TypeKind.DECLARED ? (TypeElement) ((DeclaredType) superclass).asElement() : null;
+        }
+
+        return fields;
+    }
+
+    /**
+     * Find an instance field in a type hierarchy.
+     * @param type Type.
+     * @param name Field name.
+     * @return Field if found, <b>null</b> otherwise.
+     */
+    private VariableElement findField(final TypeElement type, final String name)
+    {
+        for (Element member : processingEnv.getElementUtils().getAllMembers(type))
+        {
+            if (member.getKind() == ElementKind.FIELD && member.getSimpleName().contentEquals(name) && !member.getModifiers().contains(Modifier.STATIC))
+            {
+                return (VariableElement) member;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Return if a method is a localization method (public, without parameter or with a single {@link Locale} parameter).
+     * @param method Method.
+     * @return True if the method is a localization method, false otherwise.
+     */
+    private boolean isLocalizationMethod(final ExecutableElement method)
+    {
+        if (!method.getModifiers().contains(Modifier.PUBLIC) || method.getModifiers().contains(Modifier.STATIC))
+        {
+            return false;
+        }
+
+        List<? extends VariableElement> parameters = method.getParameters();
+
+        return parameters.isEmpty() || (parameters.size() == 1 && parameters.get(0).asType().toString().equals(Locale.class.getName()));
+    }
+
+    /**
+     * Return if a type can be referenced from a class generated in its package.
+     * @param type Type.
+     * @return True if the type is accessible, false otherwise.
+     */
+    private boolean isAccessible(final TypeElement type)
+    {
+        Element element = type;
+        while (element instanceof TypeElement)
+        {
+            if (element.getModifiers().contains(Modifier.PRIVATE) || ((TypeElement) element).getNestingKind() == NestingKind.LOCAL || ((TypeElement) element).getNestingKind() == NestingKind.ANONYMOUS)
+            {
+                return false;
+            }
+            element = element.getEnclosingElement();
+        }
+
+        return type.getKind() == ElementKind.CLASS || type.getKind() == ElementKind.ENUM || type.getKind() == ElementKind.RECORD;
+    }
+
+    /**
+     * Return the <b>I18n</b> annotation of an element.
+     * @param element Element.
+     * @return Annotation mirror or <b>null</b> if the element is not annotated.
+     */
+    private AnnotationMirror findI18n(final Element element)
+    {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors())
+        {
+            if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(I18N_ANNOTATION))
+            {
+                return mirror;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Return the name of the localizer of a type (nested type names are joined with an underscore).
+     * @param type Type.
+     * @return Localizer simple name.
+     */
+    private String localizerName(final TypeElement type)
+    {
+        String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        String name = type.getQualifiedName().toString();
+
+        return (packageName.isEmpty() ? name : name.substring(packageName.length() + 1)).replace('.', '_') + LOCALIZER_SUFFIX;
+    }
+
+    /**
+     * Return the name of a type as used in the generated code (type parameters replaced by wildcards).
+     * @param type Type.
+     * @return Type name.
+     */
+    private String typeName(final TypeElement type)
+    {
+        if (type.getTypeParameters().isEmpty())
+        {
+            return type.getQualifiedName().toString();
+        }
+
+        return type.getQualifiedName() + "<" + String.join(", ", Collections.nCopies(type.getTypeParameters().size(), "?")) + ">";
+    }
+
+    /**
+     * Return the constant name matching a camel case name (ex.: <b>getName</b> gives <b>GET_NAME</b>).
+     * @param name Name.
+     * @return Constant name.
+     */
+    private static String constantName(final String name)
+    {
+        return name.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Resource bundle and key of a localized element as declared by its <b>I18n</b> annotation.
+     */
+    private static final class Localization
+    {
+        /**
+         * Resource bundle template (empty if not provided).
+         */
+        private final String bundle;
+
+        /**
+         * Resource bundle key template (empty if not provided).
+         */
+        private final String key;
+
+        /**
+         * Create a localization.
+         * @param bundle Resource bundle template.
+         * @param key Resource bundle key template.
+         */
+        private Localization(final String bundle, final String key)
+        {
+            this.bundle = bundle;
+            this.key = key;
+        }
+
+        /**
+         * Create a localization from an <b>I18n</b> annotation.
+         * @param mirror Annotation mirror (may be <b>null</b>).
+         * @return Localization.
+         */
+        private static Localization of(final AnnotationMirror mirror)
+        {
+            String bundle = "";
+            String key = "";
+
+            if (mirror != null)
+            {
+                for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : mirror.getElementValues().entrySet())
+                {
+                    String name = entry.getKey().getSimpleName().toString();
+                    if (name.equals("bundle"))
+                    {
+                        bundle = (String) entry.getValue().getValue();
+                    }
+                    else if (name.equals("key"))
+                    {
+                        key = (String) entry.getValue().getValue();
+                    }
+                }
+            }
+
+            return new Localization(bundle, key);
+        }
+
+        /**
+         * Return a localization whose empty values are taken from a parent localization.
+         * @param parent Parent (type) localization.
+         * @return Localization.
+         */
+        private Localization over(final Localization parent)
+        {
+            return new Localization(bundle.isEmpty() ? parent.bundle : bundle, key.isEmpty() ? parent.key : key);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc. 2021-2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Systems Inc.
+ * and its suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.i18n.processor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A resource bundle or key template (ex.: <b>day.${this}.name</b>) split at compile time into its literal and variable segments.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+final class KeyTemplate
+{
+    /**
+     * Variable name referencing the instance itself (only valid for enumerations).
+     */
+    static final String THIS = "this";
+
+    /**
+     * Template segments. Even indexes are literals, odd indexes are variable names.
+     */
+    private final List<String> segments;
+
+    /**
+     * Create a template.
+     * @param segments Template segments.
+     */
+    private KeyTemplate(final List<String> segments)
+    {
+        this.segments = segments;
+    }
+
+    /**
+     * Parse a template.
+     * @param text Template text.
+     * @return Parsed template.
+     */
+    static KeyTemplate parse(final String text)
+    {
+        List<String> segments = new ArrayList<>();
+        int offset = 0;
+
+        while (true)
+        {
+            int start = text.indexOf("${", offset);
+            int end = start < 0 ? -1 : text.indexOf('}', start + 2);
+            if (end < 0)
+            {
+                segments.add(text.substring(offset));
+                return new KeyTemplate(Collections.unmodifiableList(segments));
+            }
+
+            segments.add(text.substring(offset, start));
+            segments.add(text.substring(start + 2, end));
+            offset = end + 1;
+        }
+    }
+
+    /**
+     * Return the template segments. Even indexes are literals, odd indexes are variable names.
+     * @return Segments.
+     */
+    List<String> getSegments()
+    {
+        return segments;
+    }
+
+    /**
+     * Return if the template does not contain any variable.
+     * @return True if the template is a constant, false otherwise.
+     */
+    boolean isConstant()
+    {
+        return segments.size() == 1;
+    }
+
+    /**
+     * Return if the only variable referenced by the template is <b>this</b>.
+     * @return True if the template only depends on the enumerated value, false otherwise.
+     */
+    boolean dependsOnlyOnThis()
+    {
+        for (int i = 1; i < segments.size(); i += 2)
+        {
+            if (!THIS.equals(segments.get(i)))
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Expand the template for a given enumerated value name.
+     * @param constant Enumerated value name.
+     * @return Expanded text.
+     */
+    String expand(final String constant)
+    {
+        StringBuilder builder = new StringBuilder();
+
+        for (int i = 0; i < segments.size(); i++)
+        {
+            builder.append(i % 2 == 0 ? segments.get(i) : constant);
+        }
+
+        return builder.toString();
+    }
+
+    /**
+     * Return a Java string literal for a given text.
+     * @param text Text.
+     * @return Java string literal.
+     */
+    static String literal(final String text)
+    {
+        StringBuilder builder = new StringBuilder("\"");
+
+        for (char c : text.toCharArray())
+        {
+            if (c == '"' || c == '\\')
+            {
+                builder.append('\\').append(c);
+            }
+            else if (c < 0x20)
+            {
+                builder.append(String.format("\\%03o", (int) c)); // Octal escape, unicode escapes of line terminators are not valid in literals
+            }
+            else if (c > 0x7e)
+            {
+                builder.append(String.format("\\u%04x", (int) c));
+            }
+            else
+            {
+                builder.append(c);
+            }
+        }
+
+        return builder.append('"').toString();
+    }
+}
@@ -42,11 +42,11 @@ public class MemoryResourceBundle
         {
             if (LanguageType.from(bundle.getLocale()) == targetLanguage)
             {
-                properties.put(key, bundle.getString(key));
+                properties.put(ValuePool.getInstance().intern(key), ValuePool.getInstance().intern(bundle.getString(key)));
             }
             else
             {
-                properties.put(key, "");
+                properties.put(ValuePool.getInstance().intern(key), "");
             }
         }
     }
@@ -70,7 +70,7 @@ public class MemoryResourceBundle
 
     public void updateValue(final @NonNull String key, final String value)
     {
-        properties.put(key, value);
+        properties.put(key, ValuePool.getInstance().intern(value));
     }
 
     public List<String> getKeys()
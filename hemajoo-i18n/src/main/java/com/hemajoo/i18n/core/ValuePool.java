@@ -0,0 +1,158 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc. 2021-2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Systems Inc.
+ * and its suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.i18n.core;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A shared pool of canonical string values (singleton) that the loaded resource bundles go through, so identical keys
+ * and values (ex.: the same English value registered for several locales) are held only once in memory.
+ * <br>
+ * The pool only holds weak references on its strings, so a string no longer referenced by any resource bundle can still
+ * be garbage collected.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+public final class ValuePool
+{
+    /**
+     * Unique instance of the pool.
+     */
+    private static final ValuePool INSTANCE = new ValuePool();
+
+    /**
+     * Estimated size (in bytes) of a string, excluding its characters (string object and array headers, hash and coder).
+     */
+    private static final int STRING_OVERHEAD = 40;
+
+    /**
+     * Weak interner holding the canonical strings.
+     */
+    private final Interner<String> interner = Interners.newWeakInterner();
+
+    /**
+     * Number of strings submitted to the pool.
+     */
+    private final LongAdder requests = new LongAdder();
+
+    /**
+     * Number of strings replaced by an already pooled one.
+     */
+    private final LongAdder deduplicated = new LongAdder();
+
+    /**
+     * Estimated number of bytes saved by the replaced strings.
+     */
+    private final LongAdder savedBytes = new LongAdder();
+
+    /**
+     * Return the unique instance of the pool.
+     * @return Pool instance.
+     */
+    public static ValuePool getInstance()
+    {
+        return INSTANCE;
+    }
+
+    /**
+     * Avoid direct instantiation!
+     */
+    private ValuePool()
+    {
+        // Singleton
+    }
+
+    /**
+     * Return the canonical instance of a string.
+     * @param value String value (may be <b>null</b>).
+     * @return Canonical string or <b>null</b> if the value is <b>null</b>.
+     */
+    public String intern(final String value)
+    {
+        if (value == null)
+        {
+            return null;
+        }
+
+        String canonical = interner.intern(value);
+
+        requests.increment();
+        if (canonical != value)
+        {
+            deduplicated.increment();
+            savedBytes.add(sizeOf(value));
+        }
+
+        return canonical;
+    }
+
+    /**
+     * Return the number of strings submitted to the pool.
+     * @return Number of strings.
+     */
+    public long getRequestCount()
+    {
+        return requests.sum();
+    }
+
+    /**
+     * Return the number of strings replaced by an already pooled one.
+     * @return Number of strings.
+     */
+    public long getDeduplicatedCount()
+    {
+        return deduplicated.sum();
+    }
+
+    /**
+     * Return the estimated number of bytes saved by replacing strings with already pooled ones.
+     * @return Number of bytes.
+     */
+    public long getSavedBytes()
+    {
+        return savedBytes.sum();
+    }
+
+    /**
+     * Reset the statistics of the pool (the pooled strings are kept).
+     */
+    public void resetStatistics()
+    {
+        requests.reset();
+        deduplicated.reset();
+        savedBytes.reset();
+    }
+
+    /**
+     * Estimate the memory size of a string (compact strings use one byte per character when possible).
+     * @param value String value.
+     * @return Estimated number of bytes.
+     */
+    private static long sizeOf(final String value)
+    {
+        for (int i = 0; i < value.length(); i++)
+        {
+            if (value.charAt(i) > 0xFF)
+            {
+                return STRING_OVERHEAD + (long) value.length() * Character.BYTES;
+            }
+        }
+
+        return STRING_OVERHEAD + (long) value.length();
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc. 2021-2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Systems Inc.
+ * and its suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.i18n.core.archive;
+
+import lombok.NonNull;
+
+import java.util.*;
+
+/**
+ * A resource bundle whose keys and values are served by a {@link BundleArchive}.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+final class ArchiveResourceBundle extends ResourceBundle
+{
+    /**
+     * Bundle archive.
+     */
+    private final BundleArchive archive;
+
+    /**
+     * Entry index in the archive.
+     */
+    private final int entry;
+
+    /**
+     * Resource bundle base name.
+     */
+    private final String baseName;
+
+    /**
+     * Resource bundle locale.
+     */
+    private final Locale locale;
+
+    /**
+     * Keys of the resource bundle (excluding its parents), decoded on first use.
+     */
+    private volatile Set<String> keys;
+
+    /**
+     * Create an archive resource bundle.
+     * @param archive Bundle archive.
+     * @param entry Entry index in the archive.
+     * @param baseName Resource bundle base name.
+     * @param locale Resource bundle locale.
+     * @param parent Parent resource bundle in the fallback chain (may be <b>null</b>).
+     */
+    ArchiveResourceBundle(final @NonNull BundleArchive archive, final int entry, final @NonNull String baseName, final @NonNull Locale locale, final ResourceBundle parent)
+    {
+        this.archive = archive;
+        this.entry = entry;
+        this.baseName = baseName;
+        this.locale = locale;
+        setParent(parent);
+    }
+
+    @Override
+    public Locale getLocale()
+    {
+        return locale;
+    }
+
+    @Override
+    public String getBaseBundleName()
+    {
+        return baseName;
+    }
+
+    @Override
+    protected Object handleGetObject(final @NonNull String key)
+    {
+        return archive.lookup(entry, key);
+    }
+
+    @Override
+    protected Set<String> handleKeySet()
+    {
+        Set<String> result = keys;
+        if (result == null)
+        {
+            result = Collections.unmodifiableSet(archive.keys(entry));
+            keys = result;
+        }
+
+        return result;
+    }
+
+    @Override
+    public Enumeration<String> getKeys()
+    {
+        return Collections.enumeration(keySet());
+    }
+}
@@ -0,0 +1,313 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc. 2021-2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Systems Inc.
+ * and its suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.i18n.core.archive;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * A bundle archive is a read-only binary file holding, for a set of resource bundles and for all their locales, the
+ * keys and values precompiled at build time by the {@link BundleArchiveWriter}.
+ * <br><br>
+ * The archive is memory-mapped (when it is a file) and lookups are served directly from the mapped buffer, so loading a
+ * resource bundle from an archive neither parses a <b>properties</b> file nor searches the class loader.
+ * <br><br>
+ * Archive layout (big-endian):
+ * <ul>
+ *     <li><b>header</b>: magic number, format version, number of entries, offset of the string table</li>
+ *     <li><b>entries</b>: one per (resource bundle, locale), holding the base name and language tag (string references), the index
+ *     of the parent entry in the fallback chain (or -1), the number of keys and the offset of the key index</li>
+ *     <li><b>key indexes</b>: for each entry, records (key hash, key reference, value reference) sorted by key hash</li>
+ *     <li><b>string table</b>: deduplicated strings, each one being a length followed by its UTF-8 bytes</li>
+ * </ul>
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+public final class BundleArchive
+{
+    /**
+     * Default name of the archive resource generated at build time.
+     */
+    public static final String DEFAULT_RESOURCE = "META-INF/hemajoo/i18n.bundles";
+
+    /**
+     * Archive magic number (<b>H18A</b>).
+     */
+    static final int MAGIC = 0x48313841;
+
+    /**
+     * Archive format version.
+     */
+    static final int VERSION = 1;
+
+    /**
+     * Size of the header (in bytes).
+     */
+    static final int HEADER_SIZE = 16;
+
+    /**
+     * Size of an entry (in bytes).
+     */
+    static final int ENTRY_SIZE = 20;
+
+    /**
+     * Size of a key index record (in bytes).
+     */
+    static final int RECORD_SIZE = 12;
+
+    /**
+     * Archive content.
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * Offset of the string table.
+     */
+    private final int strings;
+
+    /**
+     * Resource bundles of the archive (one per entry).
+     */
+    private final ArchiveResourceBundle[] bundles;
+
+    /**
+     * Entries of the archive (k = Resource bundle base name, v = Language tag, w = Entry index).
+     */
+    private final Map<String, Map<String, Integer>> entries = new HashMap<>();
+
+    /**
+     * Base names of the resource bundles contained in the archive.
+     */
+    @Getter
+    private final Set<String> baseNames;
+
+    /**
+     * Create a bundle archive.
+     * @param buffer Archive content.
+     * @throws IOException Thrown to indicate the content is not a valid bundle archive.
+     */
+    private BundleArchive(final @NonNull ByteBuffer buffer) throws IOException
+    {
+        this.buffer = buffer;
+
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC)
+        {
+            throw new IOException("Not a bundle archive!");
+        }
+
+        if (buffer.getInt(4) != VERSION)
+        {
+            throw new IOException(String.format("Unsupported bundle archive version: '%s'", buffer.getInt(4)));
+        }
+
+        int count = buffer.getInt(8);
+        this.strings = buffer.getInt(12);
+        this.bundles = new ArchiveResourceBundle[count];
+
+        // Parents are always written before their children
+        for (int i = 0; i < count; i++)
+        {
+            int entry = HEADER_SIZE + i * ENTRY_SIZE;
+            String baseName = string(buffer.getInt(entry));
+            String tag = string(buffer.getInt(entry + 4));
+            int parent = buffer.getInt(entry + 8);
+
+            bundles[i] = new ArchiveResourceBundle(this, i, baseName, tag.isEmpty() ? Locale.ROOT : Locale.forLanguageTag(tag), parent < 0 ? null : bundles[parent]);
+            entries.computeIfAbsent(baseName, n -> new HashMap<>()).put(tag, i);
+        }
+
+        this.baseNames = Collections.unmodifiableSet(entries.keySet());
+    }
+
+    /**
+     * Open a bundle archive file by mapping it in memory.
+     * @param path Archive file path.
+     * @return Bundle archive.
+     * @throws IOException Thrown to indicate the archive cannot be read or is not a valid bundle archive.
+     */
+    public static BundleArchive open(final @NonNull Path path) throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+        {
+            return new BundleArchive(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Open a bundle archive from the class path.
+     * <br>
+     * The archive is memory-mapped when it is a file, otherwise (ex.: packaged in a jar) it is read in memory.
+     * @param name Archive resource name.
+     * @return Bundle archive or <b>null</b> if no such resource exists.
+     * @throws IOException Thrown to indicate the archive cannot be read or is not a valid bundle archive.
+     */
+    public static BundleArchive fromResource(final @NonNull String name) throws IOException
+    {
+        URL url = BundleArchive.class.getClassLoader().getResource(name);
+        if (url == null)
+        {
+            return null;
+        }
+
+        if ("file".equals(url.getProtocol()))
+        {
+            try
+            {
+                return open(Path.of(url.toURI()));
+            }
+            catch (URISyntaxException e)
+            {
+                throw new IOException(e);
+            }
+        }
+
+        try (InputStream stream = url.openStream())
+        {
+            return new BundleArchive(ByteBuffer.wrap(stream.readAllBytes()));
+        }
+    }
+
+    /**
+     * Return if the archive contains a resource bundle.
+     * @param baseName Resource bundle base name (ex.: <b>i18n/day</b>).
+     * @return True if the archive contains the resource bundle, false otherwise.
+     */
+    public boolean contains(final @NonNull String baseName)
+    {
+        return entries.containsKey(baseName);
+    }
+
+    /**
+     * Return the resource bundle to use for a locale.
+     * <br>
+     * The candidate locales are the same as the ones of {@link ResourceBundle#getBundle(String, Locale)}: the requested
+     * locale, then its language, then the default locale and its language, and finally the base resource bundle.
+     * @param baseName Resource bundle base name (ex.: <b>i18n/day</b>).
+     * @param locale Locale.
+     * @return Resource bundle or <b>null</b> if the archive does not contain the resource bundle.
+     */
+    public ResourceBundle getBundle(final @NonNull String baseName, final @NonNull Locale locale)
+    {
+        Map<String, Integer> tags = entries.get(baseName);
+        if (tags == null)
+        {
+            return null;
+        }
+
+        Locale fallback = Locale.getDefault();
+        for (String tag : new String[] { locale.toLanguageTag(), locale.getLanguage(), fallback.toLanguageTag(), fallback.getLanguage(), "" })
+        {
+            Integer index = tags.get(tag);
+            if (index != null)
+            {
+                return bundles[index];
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Lookup the value of a key in an entry (excluding its parents).
+     * @param entry Entry index.
+     * @param key Key.
+     * @return Value or <b>null</b> if the entry does not contain the key.
+     */
+    String lookup(final int entry, final @NonNull String key)
+    {
+        int position = HEADER_SIZE + entry * ENTRY_SIZE;
+        int count = buffer.getInt(position + 12);
+        int index = buffer.getInt(position + 16);
+        int hash = key.hashCode();
+
+        // Find the first record having the key hash
+        int low = 0;
+        int high = count;
+        while (low < high)
+        {
+            int middle = (low + high) >>> 1;
+            if (buffer.getInt(index + middle * RECORD_SIZE) < hash)
+            {
+                low = middle + 1;
+            }
+            else
+            {
+                high = middle;
+            }
+        }
+
+        for (int i = low; i < count && buffer.getInt(index + i * RECORD_SIZE) == hash; i++)
+        {
+            int record = index + i * RECORD_SIZE;
+            if (matches(buffer.getInt(record + 4), key))
+            {
+                return string(buffer.getInt(record + 8));
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Return the keys of an entry (excluding its parents).
+     * @param entry Entry index.
+     * @return Keys.
+     */
+    Set<String> keys(final int entry)
+    {
+        int position = HEADER_SIZE + entry * ENTRY_SIZE;
+        int count = buffer.getInt(position + 12);
+        int index = buffer.getInt(position + 16);
+
+        Set<String> keys = new HashSet<>(count * 2);
+        for (int i = 0; i < count; i++)
+        {
+            keys.add(string(buffer.getInt(index + i * RECORD_SIZE + 4)));
+        }
+
+        return keys;
+    }
+
+    /**
+     * Decode a string of the string table.
+     * @param reference String reference (offset in the string table).
+     * @return String.
+     */
+    private String string(final int reference)
+    {
+        return Utf8Strings.decode(buffer, strings + reference);
+    }
+
+    /**
+     * Compare a string of the string table with a given text without decoding it.
+     * @param reference String reference (offset in the string table).
+     * @param text Text.
+     * @return True if both are equal, false otherwise.
+     */
+    private boolean matches(final int reference, final String text)
+    {
+        return Utf8Strings.matches(buffer, strings + reference, text);
+    }
+}
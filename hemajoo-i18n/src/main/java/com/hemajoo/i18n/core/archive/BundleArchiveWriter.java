@@ -0,0 +1,298 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc. 2021-2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Systems Inc.
+ * and its suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.i18n.core.archive;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * A writer precompiling the <b>properties</b> resource bundles of a set of folders, for all their locales, into a
+ * {@link BundleArchive}.
+ * <br><br>
+ * Invoked at build time (<b>process-classes</b> phase) with the following arguments:
+ * <ul>
+ *     <li>root folder of the resources (ex.: <b>target/classes</b>)</li>
+ *     <li>archive file to generate</li>
+ *     <li>folders (relative to the root folder) containing the resource bundles, <b>i18n</b> if none is provided</li>
+ * </ul>
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@Slf4j
+public final class BundleArchiveWriter
+{
+    /**
+     * Resource bundle file extension.
+     */
+    private static final String EXTENSION = ".properties";
+
+    /**
+     * Default folder containing the resource bundles.
+     */
+    private static final String DEFAULT_FOLDER = "i18n";
+
+    /**
+     * Avoid direct instantiation!
+     */
+    private BundleArchiveWriter()
+    {
+        // Utility class
+    }
+
+    /**
+     * Generate a bundle archive.
+     * @param arguments Root folder, archive file and optional resource bundle folders.
+     * @throws IOException Thrown to indicate an error occurred while reading a resource bundle or writing the archive.
+     */
+    public static void main(final String[] arguments) throws IOException
+    {
+        if (arguments.length < 2)
+        {
+            throw new IllegalArgumentException("Usage: BundleArchiveWriter <root folder> <archive file> [<folder>...]");
+        }
+
+        List<String> folders = arguments.length > 2 ? Arrays.asList(arguments).subList(2, arguments.length) : List.of(DEFAULT_FOLDER);
+        write(Path.of(arguments[0]), folders, Path.of(arguments[1]));
+    }
+
+    /**
+     * Precompile the resource bundles of a set of folders into a bundle archive.
+     * @param root Root folder of the resources (resource bundle base names are relative to it).
+     * @param folders Folders containing the resource bundles (relative to the root folder).
+     * @param output Archive file to generate.
+     * @throws IOException Thrown to indicate an error occurred while reading a resource bundle or writing the archive.
+     */
+    public static void write(final @NonNull Path root, final @NonNull Collection<String> folders, final @NonNull Path output) throws IOException
+    {
+        // k = base name, v = language tag (empty for the base bundle), w = values
+        Map<String, Map<String, Map<String, String>>> bundles = new TreeMap<>();
+
+        for (String folder : folders)
+        {
+            Path directory = root.resolve(folder);
+            if (!Files.isDirectory(directory))
+            {
+                continue;
+            }
+
+            try (Stream<Path> files = Files.walk(directory))
+            {
+                for (Path file : files.filter(f -> f.getFileName().toString().endsWith(EXTENSION)).sorted().toList())
+                {
+                    String relative = root.relativize(file).toString().replace('\\', '/');
+                    String name = relative.substring(0, relative.length() - EXTENSION.length());
+                    int separator = name.indexOf('_', name.lastIndexOf('/') + 1);
+
+                    String baseName = separator < 0 ? name : name.substring(0, separator);
+                    String tag = separator < 0 ? "" : toLanguageTag(name.substring(separator + 1));
+                    bundles.computeIfAbsent(baseName, n -> new TreeMap<>()).put(tag, read(file));
+                }
+            }
+        }
+
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        Files.write(output, encode(bundles));
+
+        LOGGER.info(String.format("Bundle archive: '%s' generated with: '%s' resource bundle(s)", output, bundles.size()));
+    }
+
+    /**
+     * Encode resource bundles into a bundle archive.
+     * @param bundles Resource bundles (k = base name, v = language tag, w = values).
+     * @return Archive content.
+     * @throws IOException Thrown to indicate an error occurred while encoding the archive.
+     */
+    private static byte[] encode(final @NonNull Map<String, Map<String, Map<String, String>>> bundles) throws IOException
+    {
+        List<String> entryBaseNames = new ArrayList<>();
+        List<String> entryTags = new ArrayList<>();
+        List<Map<String, String>> entryValues = new ArrayList<>();
+        List<Integer> entryParents = new ArrayList<>();
+
+        for (Map.Entry<String, Map<String, Map<String, String>>> bundle : bundles.entrySet())
+        {
+            // Parents first: base bundle, then languages, then more specific locales
+            List<String> tags = new ArrayList<>(bundle.getValue().keySet());
+            tags.sort(Comparator.comparingInt((String tag) -> tag.isEmpty() ? 0 : tag.split("-").length).thenComparing(tag -> tag));
+
+            Map<String, Integer> indexes = new HashMap<>();
+            for (String tag : tags)
+            {
+                indexes.put(tag, entryTags.size());
+                entryBaseNames.add(bundle.getKey());
+                entryTags.add(tag);
+                entryValues.add(bundle.getValue().get(tag));
+                entryParents.add(parentOf(tag, indexes));
+            }
+        }
+
+        StringTable strings = new StringTable();
+        ByteArrayOutputStream records = new ByteArrayOutputStream();
+        DataOutputStream recordsOutput = new DataOutputStream(records);
+        int indexesOffset = BundleArchive.HEADER_SIZE + entryTags.size() * BundleArchive.ENTRY_SIZE;
+        int[] indexOffsets = new int[entryTags.size()];
+
+        for (int i = 0; i < entryTags.size(); i++)
+        {
+            indexOffsets[i] = indexesOffset + records.size();
+
+            List<String> keys = new ArrayList<>(entryValues.get(i).keySet());
+            keys.sort(Comparator.comparingInt(String::hashCode).thenComparing(key -> key));
+            for (String key : keys)
+            {
+                recordsOutput.writeInt(key.hashCode());
+                recordsOutput.writeInt(strings.add(key));
+                recordsOutput.writeInt(strings.add(entryValues.get(i).get(key)));
+            }
+        }
+
+        ByteArrayOutputStream archive = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(archive);
+
+        output.writeInt(BundleArchive.MAGIC);
+        output.writeInt(BundleArchive.VERSION);
+        output.writeInt(entryTags.size());
+        output.writeInt(indexesOffset + records.size());
+
+        for (int i = 0; i < entryTags.size(); i++)
+        {
+            output.writeInt(strings.add(entryBaseNames.get(i)));
+            output.writeInt(strings.add(entryTags.get(i)));
+            output.writeInt(entryParents.get(i));
+            output.writeInt(entryValues.get(i).size());
+            output.writeInt(indexOffsets[i]);
+        }
+
+        output.write(records.toByteArray());
+        output.write(strings.toByteArray());
+
+        return archive.toByteArray();
+    }
+
+    /**
+     * Return the index of the parent entry of a locale in the fallback chain.
+     * @param tag Language tag (empty for the base bundle).
+     * @param indexes Entry indexes of the already encoded locales of the same resource bundle (k = language tag, v = entry index).
+     * @return Parent entry index or -1 if none.
+     */
+    private static int parentOf(final @NonNull String tag, final @NonNull Map<String, Integer> indexes)
+    {
+        String current = tag;
+        while (!current.isEmpty())
+        {
+            int separator = current.lastIndexOf('-');
+            current = separator < 0 ? "" : current.substring(0, separator);
+
+            Integer index = indexes.get(current);
+            if (index != null)
+            {
+                return index;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Convert a resource bundle file name suffix (ex.: <b>fr_CA</b>) to a language tag (ex.: <b>fr-CA</b>).
+     * @param suffix File name suffix.
+     * @return Language tag.
+     */
+    private static String toLanguageTag(final @NonNull String suffix)
+    {
+        String[] parts = suffix.split("_", 3);
+
+        return new Locale(parts[0], parts.length > 1 ? parts[1] : "", parts.length > 2 ? parts[2] : "").toLanguageTag();
+    }
+
+    /**
+     * Read the values of a resource bundle file.
+     * @param file Resource bundle file.
+     * @return Values (k = key, v = value).
+     * @throws IOException Thrown to indicate an error occurred while reading the file.
+     */
+    private static Map<String, String> read(final @NonNull Path file) throws IOException
+    {
+        try (InputStream stream = Files.newInputStream(file))
+        {
+            // Parsed the same way as at runtime (UTF-8 with fallback on ISO-8859-1)
+            PropertyResourceBundle bundle = new PropertyResourceBundle(stream);
+            Map<String, String> values = new HashMap<>();
+            for (String key : Collections.list(bundle.getKeys()))
+            {
+                values.put(key, bundle.getString(key));
+            }
+
+            return values;
+        }
+    }
+
+    /**
+     * A table of deduplicated strings.
+     */
+    private static final class StringTable
+    {
+        /**
+         * Strings already added (k = string, v = reference).
+         */
+        private final Map<String, Integer> references = new HashMap<>();
+
+        /**
+         * Encoded strings.
+         */
+        private final ByteArrayOutputStream content = new ByteArrayOutputStream();
+
+        /**
+         * Add a string to the table.
+         * @param text String.
+         * @return Reference (offset in the table) of the string.
+         * @throws IOException Thrown to indicate an error occurred while encoding the string.
+         */
+        private int add(final @NonNull String text) throws IOException
+        {
+            Integer reference = references.get(text);
+            if (reference == null)
+            {
+                reference = content.size();
+                byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+                DataOutputStream output = new DataOutputStream(content);
+                output.writeInt(bytes.length);
+                output.write(bytes);
+                references.put(text, reference);
+            }
+
+            return reference;
+        }
+
+        /**
+         * Return the encoded strings.
+         * @return Table content.
+         */
+        private byte[] toByteArray()
+        {
+            return content.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,277 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc. 2021-2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Systems Inc.
+ * and its suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.i18n.core.archive;
+
+import lombok.NonNull;
+
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * A resource bundle storing its keys and values as UTF-8 bytes in a direct (off-heap) buffer.
+ * <br><br>
+ * Only a compact open addressing hash index (two integers per slot) is kept on the heap. Values are decoded on access
+ * and are not retained, so very large resource bundles do not weight on the garbage collector.
+ * <br>
+ * The keys and values of the parents of the source resource bundle are flattened into the off-heap bundle, so it does
+ * not have any parent.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+public final class OffHeapResourceBundle extends ResourceBundle
+{
+    /**
+     * Resource bundle base name.
+     */
+    private final String baseName;
+
+    /**
+     * Resource bundle locale.
+     */
+    private final Locale locale;
+
+    /**
+     * Off-heap entries (key followed by its value, both being length-prefixed UTF-8 strings).
+     */
+    private final ByteBuffer data;
+
+    /**
+     * Hash of the key of each slot.
+     */
+    private final int[] hashes;
+
+    /**
+     * Position (plus one) of the entry of each slot, 0 for an empty slot.
+     */
+    private final int[] positions;
+
+    /**
+     * Number of entries.
+     */
+    private final int size;
+
+    /**
+     * Keys of the resource bundle, decoded on first use.
+     */
+    private volatile Set<String> keys;
+
+    /**
+     * Create an off-heap resource bundle.
+     * @param baseName Resource bundle base name.
+     * @param locale Resource bundle locale.
+     * @param values Values (k = key, v = value).
+     */
+    private OffHeapResourceBundle(final String baseName, final @NonNull Locale locale, final @NonNull Map<String, String> values)
+    {
+        this.baseName = baseName;
+        this.locale = locale;
+        this.size = values.size();
+
+        int capacity = 0;
+        for (Map.Entry<String, String> entry : values.entrySet())
+        {
+            capacity += Utf8Strings.size(entry.getKey()) + Utf8Strings.size(entry.getValue());
+        }
+
+        int slots = Integer.highestOneBit(Math.max(2, size * 2) - 1) << 1; // Load factor of at most 0.5
+        this.data = ByteBuffer.allocateDirect(capacity);
+        this.hashes = new int[slots];
+        this.positions = new int[slots];
+
+        for (Map.Entry<String, String> entry : values.entrySet())
+        {
+            int hash = entry.getKey().hashCode();
+            int slot = slot(hash);
+            while (positions[slot] != 0)
+            {
+                slot = (slot + 1) & (slots - 1);
+            }
+
+            hashes[slot] = hash;
+            positions[slot] = Utf8Strings.write(data, entry.getKey()) + 1;
+            Utf8Strings.write(data, entry.getValue());
+        }
+    }
+
+    /**
+     * Create an off-heap copy of a resource bundle (including the values inherited from its parents).
+     * @param bundle Resource bundle.
+     * @return Off-heap resource bundle.
+     */
+    public static OffHeapResourceBundle of(final @NonNull ResourceBundle bundle)
+    {
+        if (bundle instanceof OffHeapResourceBundle offHeap)
+        {
+            return offHeap;
+        }
+
+        Map<String, String> values = new HashMap<>();
+        for (String key : bundle.keySet())
+        {
+            if (bundle.getObject(key) instanceof String value)
+            {
+                values.put(key, value);
+            }
+        }
+
+        return new OffHeapResourceBundle(bundle.getBaseBundleName(), bundle.getLocale(), values);
+    }
+
+    /**
+     * Find the value of a key.
+     * @param key Key.
+     * @return Value or <b>null</b> if the key does not exist.
+     */
+    public String find(final @NonNull String key)
+    {
+        int position = position(key);
+
+        return position < 0 ? null : Utf8Strings.decode(data, Utf8Strings.skip(data, position));
+    }
+
+    /**
+     * Return the number of entries.
+     * @return Number of entries.
+     */
+    public int getSize()
+    {
+        return size;
+    }
+
+    /**
+     * Count the keys matching a predicate.
+     * <br>
+     * Keys are decoded one at a time and are not kept on the heap, unlike the ones returned by {@link #keySet()}.
+     * @param filter Key predicate.
+     * @return Number of matching keys.
+     */
+    public int countKeys(final @NonNull Predicate<String> filter)
+    {
+        int count = 0;
+
+        for (int position : positions)
+        {
+            if (position != 0 && filter.test(Utf8Strings.decode(data, position - 1)))
+            {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Return the number of bytes used off-heap to store the keys and values.
+     * @return Number of bytes.
+     */
+    public long getOffHeapBytes()
+    {
+        return data.capacity();
+    }
+
+    /**
+     * Return the number of bytes used on the heap by the hash index.
+     * @return Number of bytes.
+     */
+    public long getIndexBytes()
+    {
+        return (long) (hashes.length + positions.length) * Integer.BYTES;
+    }
+
+    @Override
+    public Locale getLocale()
+    {
+        return locale;
+    }
+
+    @Override
+    public String getBaseBundleName()
+    {
+        return baseName;
+    }
+
+    @Override
+    public boolean containsKey(final @NonNull String key)
+    {
+        return position(key) >= 0;
+    }
+
+    @Override
+    protected Object handleGetObject(final @NonNull String key)
+    {
+        return find(key);
+    }
+
+    @Override
+    protected Set<String> handleKeySet()
+    {
+        Set<String> result = keys;
+        if (result == null)
+        {
+            Set<String> decoded = new HashSet<>(size * 2);
+            for (int position : positions)
+            {
+                if (position != 0)
+                {
+                    decoded.add(Utf8Strings.decode(data, position - 1));
+                }
+            }
+            result = Collections.unmodifiableSet(decoded);
+            keys = result;
+        }
+
+        return result;
+    }
+
+    @Override
+    public Enumeration<String> getKeys()
+    {
+        return Collections.enumeration(handleKeySet());
+    }
+
+    /**
+     * Return the position of the entry of a key.
+     * @param key Key.
+     * @return Entry position or -1 if the key does not exist.
+     */
+    private int position(final @NonNull String key)
+    {
+        int hash = key.hashCode();
+        int slot = slot(hash);
+        int position;
+
+        while ((position = positions[slot]) != 0)
+        {
+            if (hashes[slot] == hash && Utf8Strings.matches(data, position - 1, key))
+            {
+                return position - 1;
+            }
+            slot = (slot + 1) & (positions.length - 1);
+        }
+
+        return -1;
+    }
+
+    /**
+     * Return the first slot of a key hash.
+     * @param hash Key hash.
+     * @return Slot.
+     */
+    private int slot(final int hash)
+    {
+        return (hash ^ (hash >>> 16)) & (hashes.length - 1);
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc. 2021-2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Systems Inc.
+ * and its suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.i18n.core.archive;
+
+import lombok.NonNull;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Helper services for the length-prefixed UTF-8 strings stored in byte buffers (a length followed by the UTF-8 bytes).
+ * <br>
+ * All the services use absolute positions only, so a buffer can be shared between threads.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+final class Utf8Strings
+{
+    /**
+     * Avoid direct instantiation!
+     */
+    private Utf8Strings()
+    {
+        // Utility class
+    }
+
+    /**
+     * Return the number of bytes used to store a string.
+     * @param text String.
+     * @return Number of bytes (length prefix included).
+     */
+    static int size(final @NonNull String text)
+    {
+        return 4 + text.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    /**
+     * Write a string.
+     * @param buffer Byte buffer.
+     * @param text String.
+     * @return Position of the string.
+     */
+    static int write(final @NonNull ByteBuffer buffer, final @NonNull String text)
+    {
+        int position = buffer.position();
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        buffer.putInt(bytes.length);
+        buffer.put(bytes);
+
+        return position;
+    }
+
+    /**
+     * Return the position following a string.
+     * @param buffer Byte buffer.
+     * @param position Position of the string.
+     * @return Position following the string.
+     */
+    static int skip(final @NonNull ByteBuffer buffer, final int position)
+    {
+        return position + 4 + buffer.getInt(position);
+    }
+
+    /**
+     * Decode a string.
+     * @param buffer Byte buffer.
+     * @param position Position of the string.
+     * @return String.
+     */
+    static String decode(final @NonNull ByteBuffer buffer, final int position)
+    {
+        byte[] bytes = new byte[buffer.getInt(position)];
+        buffer.get(position + 4, bytes);
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Compare a string with a given text without decoding it.
+     * @param buffer Byte buffer.
+     * @param position Position of the string.
+     * @param text Text.
+     * @return True if both are equal, false otherwise.
+     */
+    static boolean matches(final @NonNull ByteBuffer buffer, final int position, final @NonNull String text)
+    {
+        int current = position + 4;
+        int end = current + buffer.getInt(position);
+        int index = 0;
+        int codePoint;
+
+        while (current < end)
+        {
+            int b = buffer.get(current++) & 0xFF;
+            if (b < 0x80)
+            {
+                codePoint = b;
+            }
+            else if (b < 0xE0)
+            {
+                codePoint = ((b & 0x1F) << 6) | (buffer.get(current++) & 0x3F);
+            }
+            else if (b < 0xF0)
+            {
+                codePoint = ((b & 0x0F) << 12) | ((buffer.get(current++) & 0x3F) << 6) | (buffer.get(current++) & 0x3F);
+            }
+            else
+            {
+                codePoint = ((b & 0x07) << 18) | ((buffer.get(current++) & 0x3F) << 12) | ((buffer.get(current++) & 0x3F) << 6) | (buffer.get(current++) & 0x3F);
+            }
+
+            if (index >= text.length() || text.codePointAt(index) != codePoint)
+            {
+                return false;
+            }
+            index += Character.charCount(codePoint);
+        }
+
+        return index == text.length();
+    }
+}
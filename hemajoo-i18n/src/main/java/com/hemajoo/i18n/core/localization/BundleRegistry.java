@@ -0,0 +1,576 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc. 2021-2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Systems Inc.
+ * and its suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.i18n.core.localization;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.hemajoo.i18n.core.archive.OffHeapResourceBundle;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * An immutable snapshot of the resource bundles registered in the {@link I18nManager}.
+ * <br>
+ * The resource bundles of a snapshot are never modified once built (only the bundle resolutions derived from them are
+ * cached lazily). Registering a new resource bundle creates a new snapshot which is then
+ * published by the manager, so readers holding a reference on a snapshot always see a consistent view of the bundles.
+ * <br><br>
+ * For each locale, the snapshot also holds a merged index of all the keys of the bundles registered for this locale, so
+ * resolving a key costs a single hash lookup whatever the number of registered bundles. When several bundles define
+ * the same key, the precedence is the following:
+ * <ul>
+ *     <li>bundles whose language matches the locale take precedence over bundles registered as a fallback (default language)</li>
+ *     <li>within a same group, the bundle registered first takes precedence</li>
+ * </ul>
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+final class BundleRegistry
+{
+    /**
+     * Last version assigned to a registry snapshot.
+     */
+    private static final AtomicLong VERSIONS = new AtomicLong();
+
+    /**
+     * Version of the snapshot. Each snapshot created by registering a resource bundle gets a new, greater version, so
+     * data derived from a snapshot can be checked for staleness by comparing versions.
+     */
+    @Getter
+    private final long version;
+
+    /**
+     * Collection of resource bundles (k = locale, v = Resource bundle name, w = Resource bundle).
+     */
+    private final ImmutableMap<Locale, ImmutableMap<String, ResourceBundle>> bundles;
+
+    /**
+     * Merged key index (k = language tag of the registration locale, v = Resource bundle key, w = Value).
+     * <br>
+     * Indexed by language tag so a lookup does not need to build a locale. The resource bundles of a regional locale
+     * (ex.: <b>fr-CA</b>) also contain the keys inherited from their parents, so its index is self-sufficient.
+     */
+    private final ImmutableMap<String, ImmutableMap<String, String>> values;
+
+    /**
+     * Resource bundles in precedence order (k = language tag, v = Resource bundles), only for the locales having
+     * off-heap resource bundles. Their values are not copied on the heap in the merged key index, lookups of these
+     * locales go through the resource bundles instead.
+     */
+    private final ImmutableMap<String, ImmutableList<ResourceBundle>> chains;
+
+    /**
+     * Paths (and names) of all the registered resource bundles, whatever their locale.
+     */
+    private final ImmutableSet<String> paths;
+
+    /**
+     * Number of distinct keys of the registered resource bundles, when known at registration time (k = locale, v = number
+     * of keys).
+     * <br>
+     * Known for the locales having a merged key index (its size) and carried over from the previous snapshots for the
+     * unchanged locales. The other ones (locales having off-heap resource bundles) are counted on the first read only
+     * (see {@link #counted}), so registering off-heap resource bundles never pays for counting their keys.
+     */
+    private final ImmutableMap<Locale, Integer> keyCounts;
+
+    /**
+     * Number of distinct keys counted on read for the locales having off-heap resource bundles (k = locale, v = number of keys).
+     */
+    private final Map<Locale, Integer> counted = new ConcurrentHashMap<>();
+
+    /**
+     * Bundle resolutions computed from this snapshot (k = Resource bundle path, v = locale, w = bundle resolution).
+     * <br>
+     * Together with the message templates, the locale fallback chains and the counted keys, this is the only mutable part of a snapshot.
+     * It only caches values derived from the immutable part, so it is discarded together with the snapshot.
+     */
+    private final Map<String, Map<Locale, BundleResolution>> resolutions = new ConcurrentHashMap<>();
+
+    /**
+     * Message templates compiled from this snapshot (k = Resource bundle path or {@link LocalizationDiagnostics#ANY_BUNDLE}
+     * for the merged key index, v = locale, w = Resource bundle key, x = message template).
+     */
+    private final Map<String, Map<Locale, Map<String, MessageTemplate>>> templates = new ConcurrentHashMap<>();
+
+    /**
+     * Locale fallback chains computed from this snapshot (k = requested locale, v = locale fallback chain).
+     */
+    private final Map<Locale, LocaleChain> fallbacks = new ConcurrentHashMap<>();
+
+    /**
+     * Create a new registry snapshot.
+     * @param version Snapshot version.
+     * @param bundles Resource bundles.
+     * @param values Merged key index.
+     * @param chains Resource bundles in precedence order of the languages having off-heap resource bundles.
+     * @param paths Resource bundle paths.
+     * @param keyCounts Number of distinct keys of each locale.
+     */
+    private BundleRegistry(final long version, final @NonNull ImmutableMap<Locale, ImmutableMap<String, ResourceBundle>> bundles, final @NonNull ImmutableMap<String, ImmutableMap<String, String>> values, final @NonNull ImmutableMap<String, ImmutableList<ResourceBundle>> chains, final @NonNull ImmutableSet<String> paths, final @NonNull ImmutableMap<Locale, Integer> keyCounts)
+    {
+        this.version = version;
+        this.bundles = bundles;
+        this.values = values;
+        this.chains = chains;
+        this.paths = paths;
+        this.keyCounts = keyCounts;
+    }
+
+    /**
+     * Create a new empty registry snapshot.
+     * <br>
+     * Each empty snapshot gets its own version and caches, so nothing cached before clearing the registry survives it.
+     * @return Empty registry snapshot.
+     */
+    static BundleRegistry empty()
+    {
+        return new BundleRegistry(VERSIONS.incrementAndGet(), ImmutableMap.of(), ImmutableMap.of(), ImmutableMap.of(), ImmutableSet.of(), ImmutableMap.of());
+    }
+
+    /**
+     * Return if the registry does not contain any resource bundle.
+     * @return True if the registry is empty, false otherwise.
+     */
+    boolean isEmpty()
+    {
+        return bundles.isEmpty();
+    }
+
+    /**
+     * Return the resource bundles registered for a locale.
+     * @param locale Locale.
+     * @return Resource bundles (k = Resource bundle name, v = Resource bundle) or <b>null</b> if none is registered for the locale.
+     */
+    Map<String, ResourceBundle> get(final @NonNull Locale locale)
+    {
+        return bundles.get(locale);
+    }
+
+    /**
+     * Return a registered resource bundle.
+     * @param locale Locale.
+     * @param path Path (and name) of the resource bundle.
+     * @return Resource bundle if one matches, <b>null</b> otherwise.
+     */
+    ResourceBundle get(final @NonNull Locale locale, final @NonNull String path)
+    {
+        Map<String, ResourceBundle> bundlesForLocale = bundles.get(locale);
+
+        return bundlesForLocale == null ? null : bundlesForLocale.get(path);
+    }
+
+    /**
+     * Return the locales having registered resource bundles.
+     * @return Locales.
+     */
+    Set<Locale> getLocales()
+    {
+        return bundles.keySet();
+    }
+
+    /**
+     * Return the paths (and names) of all the registered resource bundles.
+     * @return Resource bundle paths.
+     */
+    Set<String> getPaths()
+    {
+        return paths;
+    }
+
+    /**
+     * Return if some resource bundles are registered for a locale.
+     * @param tag Language tag of the locale (ex.: <b>fr</b> or <b>fr-CA</b>).
+     * @return True if at least one resource bundle is registered for the locale, false otherwise.
+     */
+    boolean contains(final @NonNull String tag)
+    {
+        return values.containsKey(tag);
+    }
+
+    /**
+     * Lookup the value of a key in the merged index of a locale.
+     * @param tag Language tag of the locale (ex.: <b>fr</b> or <b>fr-CA</b>).
+     * @param key Resource bundle key.
+     * @return Value if the key exists for the locale, <b>null</b> otherwise.
+     */
+    String lookup(final @NonNull String tag, final @NonNull String key)
+    {
+        List<ResourceBundle> chain = chains.get(tag);
+        if (chain == null)
+        {
+            Map<String, String> index = values.get(tag);
+
+            return index == null ? null : index.get(key);
+        }
+
+        for (ResourceBundle bundle : chain)
+        {
+            if (bundle instanceof OffHeapResourceBundle offHeap)
+            {
+                String value = offHeap.find(key);
+                if (value != null)
+                {
+                    return value;
+                }
+            }
+            else if (bundle.containsKey(key) && bundle.getObject(key) instanceof String value)
+            {
+                return value;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Return the number of distinct keys of the registered resource bundles of each locale.
+     * @return Number of keys (k = locale, v = number of keys).
+     */
+    Map<Locale, Integer> getKeyCounts()
+    {
+        Map<Locale, Integer> counts = new LinkedHashMap<>();
+
+        for (Locale locale : bundles.keySet())
+        {
+            counts.put(locale, getKeyCount(locale));
+        }
+
+        return counts;
+    }
+
+    /**
+     * Return the number of distinct keys of the registered resource bundles of a locale.
+     * <br>
+     * The keys of a locale having off-heap resource bundles are counted once per snapshot, on the first read.
+     * @param locale Locale.
+     * @return Number of keys (<b>0</b> if no resource bundle is registered for the locale).
+     */
+    int getKeyCount(final @NonNull Locale locale)
+    {
+        Integer count = keyCounts.get(locale);
+        if (count != null)
+        {
+            return count;
+        }
+
+        List<ResourceBundle> chain = chains.get(locale.toLanguageTag());
+
+        return chain == null ? 0 : counted.computeIfAbsent(locale, l -> countKeys(chain));
+    }
+
+    /**
+     * Count the distinct keys of resource bundles in precedence order.
+     * <br>
+     * The keys of off-heap resource bundles are only decoded transiently, and not at all for the first one.
+     * @param ordered Resource bundles in precedence order.
+     * @return Number of distinct keys.
+     */
+    private static int countKeys(final @NonNull List<ResourceBundle> ordered)
+    {
+        int count = 0;
+
+        for (int i = 0; i < ordered.size(); i++)
+        {
+            ResourceBundle bundle = ordered.get(i);
+            List<ResourceBundle> previous = ordered.subList(0, i);
+            Predicate<String> isNew = key -> previous.stream().noneMatch(other -> other.containsKey(key));
+
+            if (bundle instanceof OffHeapResourceBundle offHeap)
+            {
+                count += previous.isEmpty() ? offHeap.getSize() : offHeap.countKeys(isNew);
+            }
+            else
+            {
+                count += (int) bundle.keySet().stream().filter(isNew).count();
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Return the memory used by the registered resource bundles of each locale.
+     * <br>
+     * For off-heap resource bundles, this is the exact number of bytes used off-heap plus the size of their on-heap
+     * index. For the other resource bundles, this is an estimate of the size of their keys and values.
+     * @return Number of bytes (k = locale, v = number of bytes).
+     */
+    Map<Locale, Long> getMemoryUsage()
+    {
+        Map<Locale, Long> usage = new LinkedHashMap<>();
+
+        for (Map.Entry<Locale, ImmutableMap<String, ResourceBundle>> entry : bundles.entrySet())
+        {
+            long bytes = 0;
+            for (ResourceBundle bundle : entry.getValue().values())
+            {
+                if (bundle instanceof OffHeapResourceBundle offHeap)
+                {
+                    bytes += offHeap.getOffHeapBytes() + offHeap.getIndexBytes();
+                }
+                else
+                {
+                    for (String key : bundle.keySet())
+                    {
+                        bytes += (long) key.length() * Character.BYTES;
+                        if (bundle.getObject(key) instanceof String value)
+                        {
+                            bytes += (long) value.length() * Character.BYTES;
+                        }
+                    }
+                }
+            }
+            usage.put(entry.getKey(), bytes);
+        }
+
+        return usage;
+    }
+
+    /**
+     * Return the resolution of a resource bundle for a locale.
+     * @param path Path (and name) of the resource bundle.
+     * @param locale Requested locale.
+     * @return Bundle resolution or <b>null</b> if not yet resolved for this snapshot.
+     */
+    BundleResolution getResolution(final @NonNull String path, final @NonNull Locale locale)
+    {
+        Map<Locale, BundleResolution> resolutionsForPath = resolutions.get(path);
+
+        return resolutionsForPath == null ? null : resolutionsForPath.get(locale);
+    }
+
+    /**
+     * Store the resolution of a resource bundle for a locale.
+     * @param path Path (and name) of the resource bundle.
+     * @param locale Requested locale.
+     * @param resolution Bundle resolution.
+     */
+    void putResolution(final @NonNull String path, final @NonNull Locale locale, final @NonNull BundleResolution resolution)
+    {
+        resolutions.computeIfAbsent(path, p -> new ConcurrentHashMap<>()).put(locale, resolution);
+    }
+
+    /**
+     * Return the fallback chain of a locale.
+     * @param locale Requested locale.
+     * @param defaultLocale Default locale (the same for the whole life of a snapshot).
+     * @return Locale fallback chain.
+     */
+    LocaleChain getChain(final @NonNull Locale locale, final @NonNull Locale defaultLocale)
+    {
+        LocaleChain chain = fallbacks.get(locale);
+
+        return chain != null ? chain : fallbacks.computeIfAbsent(locale, l -> LocaleChain.of(l, defaultLocale));
+    }
+
+    /**
+     * Return the message template of a resource bundle key for a locale.
+     * @param path Path (and name) of the resource bundle or {@link LocalizationDiagnostics#ANY_BUNDLE} for the merged key index.
+     * @param locale Locale.
+     * @param key Resource bundle key.
+     * @return Message template or <b>null</b> if not yet compiled for this snapshot.
+     */
+    MessageTemplate getTemplate(final @NonNull String path, final @NonNull Locale locale, final @NonNull String key)
+    {
+        Map<Locale, Map<String, MessageTemplate>> templatesForPath = templates.get(path);
+        Map<String, MessageTemplate> templatesForLocale = templatesForPath == null ? null : templatesForPath.get(locale);
+
+        return templatesForLocale == null ? null : templatesForLocale.get(key);
+    }
+
+    /**
+     * Store the message template of a resource bundle key for a locale.
+     * @param path Path (and name) of the resource bundle or {@link LocalizationDiagnostics#ANY_BUNDLE} for the merged key index.
+     * @param locale Locale.
+     * @param key Resource bundle key.
+     * @param template Message template.
+     */
+    void putTemplate(final @NonNull String path, final @NonNull Locale locale, final @NonNull String key, final @NonNull MessageTemplate template)
+    {
+        templates.computeIfAbsent(path, p -> new ConcurrentHashMap<>())
+                .computeIfAbsent(locale, l -> new ConcurrentHashMap<>())
+                .put(key, template);
+    }
+
+    /**
+     * Create a new registry snapshot containing the same bundles as this snapshot but having a new version.
+     * <br>
+     * Used to invalidate the data derived from the registry when the way keys are resolved changes (ex.: a new default locale).
+     * @return New registry snapshot.
+     */
+    BundleRegistry renew()
+    {
+        return new BundleRegistry(VERSIONS.incrementAndGet(), bundles, values, chains, paths, keyCounts);
+    }
+
+    /**
+     * Create a new registry snapshot containing the bundles of this snapshot plus the given one.
+     * <br>
+     * If a resource bundle with the same path is already registered for the locale, it is replaced.
+     * @param locale Locale.
+     * @param path Path (and name) of the resource bundle.
+     * @param bundle Resource bundle.
+     * @return New registry snapshot.
+     */
+    BundleRegistry with(final @NonNull Locale locale, final @NonNull String path, final @NonNull ResourceBundle bundle)
+    {
+        return withAll(Map.of(locale, Map.of(path, bundle)));
+    }
+
+    /**
+     * Create a new registry snapshot containing the bundles of this snapshot plus the given ones.
+     * <br>
+     * The merged key index of each locale is rebuilt only once, whatever the number of resource bundles added for it.
+     * If a resource bundle with the same path is already registered for a locale, it is replaced.
+     * @param additions Resource bundles to add (k = locale, v = Resource bundle path, w = Resource bundle).
+     * @return New registry snapshot.
+     */
+    BundleRegistry withAll(final @NonNull Map<Locale, ? extends Map<String, ResourceBundle>> additions)
+    {
+        Map<Locale, ImmutableMap<String, ResourceBundle>> all = new LinkedHashMap<>(bundles);
+        Map<String, ImmutableMap<String, String>> indexes = new LinkedHashMap<>(values);
+        Map<String, ImmutableList<ResourceBundle>> allChains = new LinkedHashMap<>(chains);
+        ImmutableSet.Builder<String> allPaths = ImmutableSet.<String>builder().addAll(paths);
+        Map<Locale, Integer> allKeyCounts = new LinkedHashMap<>(keyCounts);
+        allKeyCounts.putAll(counted); // Carry over the key counts already computed for the unchanged locales
+
+        for (Map.Entry<Locale, ? extends Map<String, ResourceBundle>> entry : additions.entrySet())
+        {
+            Locale locale = entry.getKey();
+            Map<String, ResourceBundle> bundlesForLocale = new LinkedHashMap<>();
+            Map<String, ResourceBundle> existing = bundles.get(locale);
+            if (existing != null)
+            {
+                bundlesForLocale.putAll(existing);
+            }
+            bundlesForLocale.putAll(entry.getValue());
+
+            all.put(locale, ImmutableMap.copyOf(bundlesForLocale));
+
+            List<ResourceBundle> ordered = order(locale, bundlesForLocale.values());
+            if (ordered.stream().anyMatch(OffHeapResourceBundle.class::isInstance))
+            {
+                indexes.put(locale.toLanguageTag(), ImmutableMap.of());
+                allChains.put(locale.toLanguageTag(), ImmutableList.copyOf(ordered));
+                allKeyCounts.remove(locale); // Counted on the first read
+            }
+            else
+            {
+                ImmutableMap<String, String> index = index(ordered);
+                indexes.put(locale.toLanguageTag(), index);
+                allChains.remove(locale.toLanguageTag());
+                allKeyCounts.put(locale, index.size());
+            }
+            allPaths.addAll(entry.getValue().keySet());
+        }
+
+        return new BundleRegistry(VERSIONS.incrementAndGet(), ImmutableMap.copyOf(all), ImmutableMap.copyOf(indexes), ImmutableMap.copyOf(allChains), allPaths.build(), ImmutableMap.copyOf(allKeyCounts));
+    }
+
+    /**
+     * Create a new registry snapshot containing the bundles of this snapshot but the given one.
+     * @param locale Locale.
+     * @param path Path (and name) of the resource bundle.
+     * @return New registry snapshot, or this snapshot if the resource bundle is not registered for the locale.
+     */
+    BundleRegistry without(final @NonNull Locale locale, final @NonNull String path)
+    {
+        Map<String, ResourceBundle> existing = bundles.get(locale);
+        if (existing == null || !existing.containsKey(path))
+        {
+            return this;
+        }
+
+        String tag = locale.toLanguageTag();
+        Map<Locale, ImmutableMap<String, ResourceBundle>> all = new LinkedHashMap<>(bundles);
+        all.remove(locale);
+        Map<String, ImmutableMap<String, String>> indexes = new LinkedHashMap<>(values);
+        indexes.remove(tag);
+        Map<String, ImmutableList<ResourceBundle>> allChains = new LinkedHashMap<>(chains);
+        allChains.remove(tag);
+        Map<Locale, Integer> allKeyCounts = new LinkedHashMap<>(keyCounts);
+        allKeyCounts.putAll(counted);
+        allKeyCounts.remove(locale);
+        ImmutableSet<String> allPaths = all.values().stream()
+                .flatMap(bundlesForLocale -> bundlesForLocale.keySet().stream())
+                .collect(ImmutableSet.toImmutableSet());
+
+        BundleRegistry removed = new BundleRegistry(VERSIONS.incrementAndGet(), ImmutableMap.copyOf(all), ImmutableMap.copyOf(indexes), ImmutableMap.copyOf(allChains), allPaths, ImmutableMap.copyOf(allKeyCounts));
+
+        // Register the other resource bundles of the locale again, so its merged key index is rebuilt without the removed one
+        Map<String, ResourceBundle> remaining = new LinkedHashMap<>(existing);
+        remaining.remove(path);
+
+        return remaining.isEmpty() ? removed : removed.withAll(Map.of(locale, remaining));
+    }
+
+    /**
+     * Order the resource bundles of a locale by precedence.
+     * @param locale Locale.
+     * @param bundlesForLocale Resource bundles registered for the locale (in registration order).
+     * @return Resource bundles in precedence order.
+     */
+    private static List<ResourceBundle> order(final @NonNull Locale locale, final @NonNull Collection<ResourceBundle> bundlesForLocale)
+    {
+        List<ResourceBundle> ordered = new ArrayList<>(bundlesForLocale.size());
+
+        // Bundles matching the language of the locale first, then the ones registered as a fallback
+        for (ResourceBundle bundle : bundlesForLocale)
+        {
+            if (bundle.getLocale().getLanguage().equals(locale.getLanguage()))
+            {
+                ordered.add(bundle);
+            }
+        }
+        for (ResourceBundle bundle : bundlesForLocale)
+        {
+            if (!bundle.getLocale().getLanguage().equals(locale.getLanguage()))
+            {
+                ordered.add(bundle);
+            }
+        }
+
+        return ordered;
+    }
+
+    /**
+     * Build the merged key index of a locale.
+     * @param ordered Resource bundles registered for the locale (in precedence order).
+     * @return Merged key index.
+     */
+    private static ImmutableMap<String, String> index(final @NonNull List<ResourceBundle> ordered)
+    {
+        Map<String, String> index = new HashMap<>();
+        for (ResourceBundle bundle : ordered)
+        {
+            for (String key : bundle.keySet())
+            {
+                if (!index.containsKey(key) && bundle.getObject(key) instanceof String value)
+                {
+                    index.put(key, value); // Stored resource bundles already hold canonical keys and values
+                }
+            }
+        }
+
+        return ImmutableMap.copyOf(index);
+    }
+}
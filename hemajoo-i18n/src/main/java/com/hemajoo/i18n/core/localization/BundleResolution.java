@@ -0,0 +1,139 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc. 2021-2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Systems Inc.
+ * and its suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.i18n.core.localization;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Synchronized;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A bundle resolution holds the resource bundle actually used to resolve the keys of a (resource bundle path, locale)
+ * pair, once the fallback on the default locale has been applied.
+ * <br><br>
+ * It also records the keys known to be missing from the resolved resource bundle in a negative cache made of a
+ * <b>Bloom filter</b> backed by an exact set. The Bloom filter answers most of the lookups for keys never found missing,
+ * while the exact set removes its false positives, so repeated lookups of a missing key neither probe the resource
+ * bundle again, nor log or format anything: the message reported for the missing key is recorded with it.
+ * <br>
+ * Resolutions are held by a {@link BundleRegistry} snapshot, so they are discarded as soon as the registry changes.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+final class BundleResolution
+{
+    /**
+     * Maximum number of missing keys recorded per resolution.
+     */
+    private static final int MAX_MISSES = 1024;
+
+    /**
+     * Expected false positive probability of the Bloom filter.
+     */
+    private static final double MISS_FILTER_FPP = 0.01;
+
+    /**
+     * Resolved resource bundle.
+     */
+    @Getter
+    private final ResourceBundle bundle;
+
+    /**
+     * Locale of the resolved resource bundle (the requested one or the fallback one).
+     */
+    @Getter
+    private final Locale locale;
+
+    /**
+     * Is the resolved resource bundle of another language than the requested locale?
+     */
+    @Getter
+    private final boolean fallback;
+
+    /**
+     * Exact set of the keys known to be missing (k = key, v = message reported for the missing key).
+     */
+    private final Map<String, String> misses = new ConcurrentHashMap<>();
+
+    /**
+     * Bloom filter of the keys known to be missing (created on the first miss).
+     */
+    private volatile BloomFilter<CharSequence> missFilter;
+
+    /**
+     * Create a bundle resolution.
+     * @param bundle Resolved resource bundle.
+     * @param locale Locale of the resolved resource bundle.
+     * @param fallback Is the resolved resource bundle of another language than the requested locale?
+     */
+    BundleResolution(final @NonNull ResourceBundle bundle, final @NonNull Locale locale, final boolean fallback)
+    {
+        this.bundle = bundle;
+        this.locale = locale;
+        this.fallback = fallback;
+    }
+
+    /**
+     * Return the message recorded for a key known to be missing from the resolved resource bundle.
+     * @param key Resource bundle key.
+     * @return Message if the key is known to be missing, <b>null</b> otherwise.
+     */
+    String getMissMessage(final @NonNull String key)
+    {
+        BloomFilter<CharSequence> filter = missFilter;
+
+        return filter != null && filter.mightContain(key) ? misses.get(key) : null;
+    }
+
+    /**
+     * Find the value of a key in the resolved resource bundle.
+     * @param key Resource bundle key.
+     * @return Value or <b>null</b> if the key does not exist.
+     */
+    String find(final @NonNull String key)
+    {
+        return bundle.containsKey(key) ? bundle.getString(key) : null;
+    }
+
+    /**
+     * Record a key as missing from the resolved resource bundle.
+     * @param key Resource bundle key.
+     * @param message Message reported for the missing key.
+     */
+    @Synchronized
+    void recordMiss(final @NonNull String key, final @NonNull String message)
+    {
+        if (misses.size() >= MAX_MISSES)
+        {
+            return; // Bounded, further missing keys are simply looked up again
+        }
+
+        if (missFilter == null)
+        {
+            missFilter = BloomFilter.create(Funnels.stringFunnel(StandardCharsets.UTF_8), MAX_MISSES, MISS_FILTER_FPP);
+        }
+
+        // Add to the exact set first, so a key passing the filter is always confirmed by the set
+        misses.put(key, message);
+        missFilter.put(key);
+    }
+}
@@ -0,0 +1,390 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc. 2021-2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Systems Inc.
+ * and its suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.i18n.core.localization;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * A resource bundle watcher monitors a directory holding <b>properties</b> files (ex.: <b>src/main/resources</b>) and
+ * reloads, in the {@link I18nManager}, the registered resource bundles whose files are created or modified.
+ * <br>
+ * Reloaded resource bundles are published as a new snapshot of the registry, so readers are never blocked and the
+ * registry version (see {@link I18nManager#getVersion()}) is bumped. When the watch service loses events (overflow),
+ * all the resource bundle files of the root directory are reloaded. An error raised while reloading a batch of changes
+ * (ex.: a partially saved file) is logged and the watcher keeps on watching.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@Slf4j
+public final class BundleWatcher implements AutoCloseable
+{
+    /**
+     * Extension of the resource bundle files.
+     */
+    private static final String EXTENSION = ".properties";
+
+    /**
+     * Locale suffix of a resource bundle file name (ex.: <b>fr</b>, <b>fr_CA</b>, <b>sr_Latn_RS</b> or <b>fr__POSIX</b>).
+     */
+    private static final Pattern LOCALE_SUFFIX = Pattern.compile("([a-z]{2,3})(?:_[A-Z][a-z]{3})?(?:_(?:[A-Z]{2}|[0-9]{3})?)?(?:_\\w+)?");
+
+    /**
+     * Delay (in milliseconds) used to gather the events of a same change (ex.: an editor writing a file in several steps).
+     */
+    private static final long QUIET_PERIOD = 100;
+
+    /**
+     * Localization manager.
+     */
+    private final I18nManager manager;
+
+    /**
+     * Watched root directory (the resource bundle paths are relative to it).
+     */
+    @Getter
+    private final Path root;
+
+    /**
+     * Watch service.
+     */
+    private final WatchService service;
+
+    /**
+     * Watching thread.
+     */
+    private final Thread thread;
+
+    /**
+     * Create a resource bundle watcher.
+     * @param manager Localization manager.
+     * @param root Root directory.
+     * @throws IOException Thrown to indicate the directory cannot be watched.
+     */
+    BundleWatcher(final @NonNull I18nManager manager, final @NonNull Path root) throws IOException
+    {
+        this.manager = manager;
+        this.root = root.toAbsolutePath().normalize();
+        this.service = this.root.getFileSystem().newWatchService();
+
+        try (Stream<Path> directories = Files.walk(this.root))
+        {
+            for (Path directory : (Iterable<Path>) directories.filter(Files::isDirectory)::iterator)
+            {
+                register(directory);
+            }
+        }
+        catch (UncheckedIOException e)
+        {
+            service.close();
+            throw e.getCause();
+        }
+
+        this.thread = new Thread(this::watch, "i18n-bundle-watcher");
+        this.thread.setDaemon(true);
+        this.thread.start();
+
+        LOGGER.info(String.format("Watching resource bundles in: '%s'", this.root));
+    }
+
+    /**
+     * Register a directory to the watch service.
+     * @param directory Directory.
+     */
+    private void register(final @NonNull Path directory)
+    {
+        try
+        {
+            directory.register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Watch the changes until the watcher is closed.
+     */
+    private void watch()
+    {
+        try
+        {
+            while (true)
+            {
+                Set<Path> changed = new LinkedHashSet<>();
+                boolean overflow = false;
+                WatchKey key = service.take();
+                while (key != null)
+                {
+                    overflow |= collect(key, changed);
+                    key = service.poll(QUIET_PERIOD, TimeUnit.MILLISECONDS);
+                }
+
+                reload(changed, overflow);
+            }
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+        catch (ClosedWatchServiceException e)
+        {
+            // Watcher has been closed
+        }
+    }
+
+    /**
+     * Reload a batch of changed resource bundle files.
+     * @param changed Changed resource bundle files.
+     * @param overflow Have some events been lost? If so, all the resource bundle files of the root directory are reloaded.
+     */
+    private void reload(final @NonNull Set<Path> changed, final boolean overflow)
+    {
+        try
+        {
+            if (overflow)
+            {
+                LOGGER.warn(String.format("⚠️ Resource bundle changes lost in: '%s', reloading all resource bundles!", root));
+                changed.addAll(listFiles());
+            }
+
+            if (!changed.isEmpty())
+            {
+                manager.reload(root, changed);
+            }
+        }
+        catch (IOException | RuntimeException e)
+        {
+            LOGGER.error(String.format("❌ Cannot reload resource bundles: %s: %s", changed, e.getMessage()), e);
+        }
+    }
+
+    /**
+     * List the resource bundle files of the root directory.
+     * @return Resource bundle files.
+     * @throws IOException Thrown to indicate the root directory cannot be read.
+     */
+    private Set<Path> listFiles() throws IOException
+    {
+        try (Stream<Path> files = Files.walk(root))
+        {
+            Set<Path> result = new LinkedHashSet<>();
+            files.filter(file -> file.getFileName().toString().endsWith(EXTENSION) && Files.isRegularFile(file)).forEach(result::add);
+
+            return result;
+        }
+        catch (UncheckedIOException e)
+        {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Collect the resource bundle files changed in a watched directory.
+     * @param key Watch key of the directory.
+     * @param changed Changed resource bundle files.
+     * @return True if some events have been lost (overflow), false otherwise.
+     */
+    private boolean collect(final @NonNull WatchKey key, final @NonNull Set<Path> changed)
+    {
+        Path directory = (Path) key.watchable();
+        boolean overflow = false;
+
+        for (WatchEvent<?> event : key.pollEvents())
+        {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW)
+            {
+                overflow = true;
+                continue;
+            }
+
+            Path file = directory.resolve((Path) event.context());
+            if (Files.isDirectory(file))
+            {
+                try
+                {
+                    register(file);
+                }
+                catch (UncheckedIOException e)
+                {
+                    LOGGER.warn(String.format("⚠️ Cannot watch directory: '%s': %s", file, e.getCause().getMessage()));
+                }
+            }
+            else if (file.getFileName().toString().endsWith(EXTENSION))
+            {
+                changed.add(file);
+            }
+        }
+
+        key.reset();
+
+        return overflow;
+    }
+
+    /**
+     * Return the language of a resource bundle file.
+     * @param name File name, relative to the root directory and without extension (ex.: <b>i18n/day_fr_CA</b>).
+     * @param path Resource bundle path and name (ex.: <b>i18n/day</b>).
+     * @return Language of the file, empty for the base file of the resource bundle, or <b>null</b> if the file does not
+     * belong to the resource bundle (ex.: <b>i18n/day_extra</b> belongs to another resource bundle).
+     */
+    static String getLanguage(final @NonNull String name, final @NonNull String path)
+    {
+        if (name.equals(path))
+        {
+            return "";
+        }
+
+        if (!name.startsWith(path) || name.length() <= path.length() + 1 || name.charAt(path.length()) != '_')
+        {
+            return null;
+        }
+
+        Matcher matcher = LOCALE_SUFFIX.matcher(name.substring(path.length() + 1));
+
+        return matcher.matches() ? matcher.group(1) : null;
+    }
+
+    /**
+     * Stop watching the resource bundles.
+     * @throws IOException Thrown to indicate an error occurred while closing the watch service.
+     */
+    @Override
+    public void close() throws IOException
+    {
+        service.close();
+    }
+
+    /**
+     * Resource bundle read from a <b>properties</b> file of a directory.
+     * <br>
+     * Resource bundles are read directly from the files, bypassing the resource bundle cache of the JDK which would serve
+     * the resource bundles loaded before the files changed.
+     * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+     * @version 1.0.0
+     */
+    static final class DirectoryBundle extends PropertyResourceBundle
+    {
+        /**
+         * Control providing the candidate locales and the file names of the resource bundles.
+         */
+        private static final ResourceBundle.Control CONTROL = ResourceBundle.Control.getControl(ResourceBundle.Control.FORMAT_PROPERTIES);
+
+        /**
+         * Resource bundle base name.
+         */
+        private final String baseName;
+
+        /**
+         * Resource bundle locale.
+         */
+        private final Locale locale;
+
+        /**
+         * Create a resource bundle from a <b>properties</b> file.
+         * @param input Input stream of the file.
+         * @param baseName Resource bundle base name.
+         * @param locale Resource bundle locale.
+         * @param parent Parent resource bundle (may be <b>null</b>).
+         * @throws IOException Thrown to indicate the file cannot be read.
+         */
+        private DirectoryBundle(final @NonNull InputStream input, final @NonNull String baseName, final @NonNull Locale locale, final ResourceBundle parent) throws IOException
+        {
+            super(input);
+            this.baseName = baseName;
+            this.locale = locale;
+            setParent(parent);
+        }
+
+        /**
+         * Load a resource bundle from a directory, following the same candidate and fallback locales as
+         * {@link ResourceBundle#getBundle(String, Locale)}.
+         * @param root Root directory.
+         * @param baseName Resource bundle base name.
+         * @param locale Locale.
+         * @return Resource bundle or <b>null</b> if no file exists for the resource bundle.
+         * @throws IOException Thrown to indicate a file cannot be read.
+         */
+        static ResourceBundle load(final @NonNull Path root, final @NonNull String baseName, final @NonNull Locale locale) throws IOException
+        {
+            ResourceBundle bundle = chain(root, baseName, locale);
+
+            if ((bundle == null || Locale.ROOT.equals(bundle.getLocale())) && !locale.equals(Locale.getDefault()))
+            {
+                ResourceBundle fallback = chain(root, baseName, Locale.getDefault());
+                if (fallback != null && !Locale.ROOT.equals(fallback.getLocale()))
+                {
+                    bundle = fallback;
+                }
+            }
+
+            return bundle;
+        }
+
+        /**
+         * Load the chain of resource bundles of a locale from a directory.
+         * @param root Root directory.
+         * @param baseName Resource bundle base name.
+         * @param locale Locale.
+         * @return Most specific resource bundle found or <b>null</b> if none has been found.
+         * @throws IOException Thrown to indicate a file cannot be read.
+         */
+        private static ResourceBundle chain(final @NonNull Path root, final @NonNull String baseName, final @NonNull Locale locale) throws IOException
+        {
+            List<Locale> candidates = CONTROL.getCandidateLocales(baseName, locale);
+            ResourceBundle bundle = null;
+
+            // Candidates are ordered from the most specific to the root locale
+            for (int i = candidates.size() - 1; i >= 0; i--)
+            {
+                Locale candidate = candidates.get(i);
+                Path file = root.resolve(CONTROL.toResourceName(CONTROL.toBundleName(baseName, candidate), "properties"));
+                if (Files.isRegularFile(file))
+                {
+                    try (InputStream input = Files.newInputStream(file))
+                    {
+                        bundle = new DirectoryBundle(input, baseName, candidate, bundle);
+                    }
+                }
+            }
+
+            return bundle;
+        }
+
+        @Override
+        public Locale getLocale()
+        {
+            return locale;
+        }
+
+        @Override
+        public String getBaseBundleName()
+        {
+            return baseName;
+        }
+    }
+}
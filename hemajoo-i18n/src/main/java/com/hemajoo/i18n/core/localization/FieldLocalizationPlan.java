@@ -0,0 +1,256 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc. 2021-2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Systems Inc.
+ * and its suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.i18n.core.localization;
+
+import com.hemajoo.i18n.core.annotation.I18n;
+import com.hemajoo.utility.reflection.ReflectionHelper;
+import lombok.Getter;
+import lombok.NonNull;
+import org.apache.commons.lang3.StringUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A field localization plan holds, for a class, the fields annotated with the <b>I18n</b> annotation together with their
+ * localization plan and a compiled setter.
+ * <br>
+ * Plans are resolved once per class and cached, so localizing the fields of an instance neither scans the class
+ * hierarchy nor uses reflection.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+final class FieldLocalizationPlan
+{
+    /**
+     * Field localization plans (k = instance class, v = field localization plan).
+     */
+    private static final ClassValue<FieldLocalizationPlan> PLANS = new ClassValue<>()
+    {
+        @Override
+        protected FieldLocalizationPlan computeValue(final Class<?> type)
+        {
+            return new FieldLocalizationPlan(type);
+        }
+    };
+
+    /**
+     * Type of the compiled setters taking the localized value.
+     */
+    private static final MethodType VALUE_SETTER = MethodType.methodType(void.class, Object.class, String.class);
+
+    /**
+     * Type of the compiled setters taking the localized value and the locale.
+     */
+    private static final MethodType LOCALE_SETTER = MethodType.methodType(void.class, Object.class, String.class, Locale.class);
+
+    /**
+     * Localized fields.
+     */
+    @Getter
+    private final List<LocalizedField> fields;
+
+    /**
+     * Create the field localization plan of a class.
+     * @param type Class.
+     */
+    private FieldLocalizationPlan(final @NonNull Class<?> type)
+    {
+        List<Field> annotated = ReflectionHelper.findAnnotatedFieldsInClassHierarchy(type, I18n.class);
+        List<LocalizedField> list = new ArrayList<>(annotated.size());
+
+        // The annotation of the class declaring the first annotated field applies to all the fields
+        I18n classAnnotation = annotated.isEmpty() ? null : annotated.get(0).getDeclaringClass().getAnnotation(I18n.class);
+
+        for (Field field : annotated)
+        {
+            list.add(new LocalizedField(type, field, new LocalizationPlan(classAnnotation, field.getAnnotation(I18n.class))));
+        }
+
+        this.fields = Collections.unmodifiableList(list);
+    }
+
+    /**
+     * Return the field localization plan of a class.
+     * @param type Class.
+     * @return Field localization plan.
+     */
+    static FieldLocalizationPlan of(final @NonNull Class<?> type)
+    {
+        return PLANS.get(type);
+    }
+
+    /**
+     * Return if the class does not have any field annotated with the <b>I18n</b> annotation.
+     * @return True if there is no field to localize, false otherwise.
+     */
+    boolean isEmpty()
+    {
+        return fields.isEmpty();
+    }
+
+    /**
+     * A field to localize.
+     * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+     * @version 1.0.0
+     */
+    static final class LocalizedField
+    {
+        /**
+         * Localization plan of the field.
+         */
+        private final LocalizationPlan plan;
+
+        /**
+         * Compiled setter of the field (<b>null</b> if no valid setter has been found).
+         */
+        private final MethodHandle setter;
+
+        /**
+         * Does the setter take the locale as second parameter?
+         */
+        private final boolean withLocale;
+
+        /**
+         * Error message raised when the field is localized if no valid setter has been found.
+         */
+        private final String error;
+
+        /**
+         * Create a field to localize.
+         * <br>
+         * The setter is a public method named <b>set&lt;Field&gt;</b> taking either a {@link String} or a {@link String}
+         * and a {@link Locale}.
+         * @param type Instance class.
+         * @param field Field.
+         * @param plan Localization plan of the field.
+         */
+        private LocalizedField(final @NonNull Class<?> type, final @NonNull Field field, final @NonNull LocalizationPlan plan)
+        {
+            String name = "set" + StringUtils.capitalize(field.getName());
+            MethodHandle handle = null;
+            boolean locale = false;
+            String message = null;
+
+            try
+            {
+                handle = compile(type.getMethod(name, String.class), VALUE_SETTER);
+            }
+            catch (NoSuchMethodException e)
+            {
+                try
+                {
+                    handle = compile(type.getMethod(name, String.class, Locale.class), LOCALE_SETTER);
+                    locale = true;
+                }
+                catch (NoSuchMethodException oe)
+                {
+                    message = e.getMessage();
+                }
+                catch (IllegalAccessException oe)
+                {
+                    message = oe.getMessage();
+                }
+            }
+            catch (IllegalAccessException e)
+            {
+                message = e.getMessage();
+            }
+
+            this.plan = plan;
+            this.setter = handle;
+            this.withLocale = locale;
+            this.error = message;
+        }
+
+        /**
+         * Compile a setter method.
+         * @param method Setter method.
+         * @param type Type of the compiled setter.
+         * @return Compiled setter.
+         * @throws IllegalAccessException Thrown to indicate the setter cannot be accessed.
+         */
+        private static MethodHandle compile(final @NonNull Method method, final @NonNull MethodType type) throws IllegalAccessException
+        {
+            method.trySetAccessible(); // Public setters of non-public classes
+
+            return MethodHandles.lookup().unreflect(method).asType(type);
+        }
+
+        /**
+         * Return the localization plan of the field.
+         * @return Localization plan.
+         */
+        LocalizationPlan getPlan()
+        {
+            return plan;
+        }
+
+        /**
+         * Check the field has a valid setter.
+         * @throws LocalizationException Thrown to indicate the field does not have a valid setter.
+         */
+        void checkSetter() throws LocalizationException
+        {
+            if (setter == null)
+            {
+                throw new LocalizationException(error);
+            }
+        }
+
+        /**
+         * Set the localized value of the field.
+         * @param instance Instance.
+         * @param value Localized value.
+         * @param locale Locale.
+         * @throws LocalizationException Thrown to indicate the field does not have a valid setter or the setter failed.
+         */
+        void set(final @NonNull Object instance, final String value, final Locale locale) throws LocalizationException
+        {
+            checkSetter();
+
+            try
+            {
+                if (withLocale)
+                {
+                    setter.invokeExact(instance, value, locale);
+                }
+                else
+                {
+                    setter.invokeExact(instance, value);
+                }
+            }
+            catch (Error e)
+            {
+                throw e;
+            }
+            catch (Exception e)
+            {
+                throw new LocalizationException(e.getMessage(), e);
+            }
+            catch (Throwable e)
+            {
+                throw new LocalizationException(e.getMessage());
+            }
+        }
+    }
+}
@@ -14,28 +14,37 @@
  */
 package com.hemajoo.i18n.core.localization;
 
-import com.google.common.collect.Maps;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import com.hemajoo.i18n.core.MemoryResourceBundle;
-import com.hemajoo.i18n.core.annotation.I18n;
+import com.hemajoo.i18n.core.ValuePool;
+import com.hemajoo.i18n.core.archive.BundleArchive;
+import com.hemajoo.i18n.core.archive.OffHeapResourceBundle;
 import com.hemajoo.i18n.core.exception.ResourceException;
 import com.hemajoo.i18n.core.localization.data.LanguageException;
 import com.hemajoo.i18n.core.localization.data.LanguageType;
 import com.hemajoo.i18n.core.translation.ITranslator;
 import com.hemajoo.i18n.core.translation.TranslationException;
 import com.hemajoo.i18n.core.translation.engine.google.GoogleFreeTranslator;
-import com.hemajoo.utility.reflection.ReflectionHelper;
 import com.hemajoo.utility.string.StringExpander;
 import com.hemajoo.utility.string.StringExpanderException;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.Synchronized;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.lang3.StringUtils;
 
-import java.lang.annotation.Annotation;
-import java.lang.reflect.Field;
+import java.io.IOException;
 import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * A localization manager (singleton) that serves as a central access point for resource bundle localization.
@@ -50,21 +59,98 @@ public final class I18nManager
      */
     private static final I18nManager INSTANCE = new I18nManager();
 
+    /**
+     * Stack walker used to find the localization method having invoked a localization.
+     */
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
     /**
      * Setter method name.
      */
     public static final String SETTER_FIELD_NAME = "setValue";
 
     /**
-     * Locale of the manager.
+     * Number of objects per batch when localizing a collection of objects concurrently.
+     */
+    public static final int PARALLEL_BATCH_SIZE = 256;
+
+    /**
+     * Locale of the manager (default locale when no {@link LocaleContext} is open).
+     */
+    @Getter
+    private volatile Locale defaultLocale;
+
+    /**
+     * Snapshot of the registered resource bundles.
+     * <br>
+     * The snapshot is immutable and is replaced as a whole each time a resource bundle is registered, so readers never
+     * need to lock and never see a partially updated registry.
+     */
+    private volatile BundleRegistry registry = BundleRegistry.empty();
+
+    /**
+     * Bundle archive precompiled at build time (<b>null</b> if none), used in place of the <b>properties</b> files for
+     * the resource bundles it contains.
+     */
+    private volatile BundleArchive archive;
+
+    /**
+     * Storage mode of the resource bundles registered from now on.
+     */
+    @Getter
+    private volatile StorageMode storageMode = StorageMode.HEAP;
+
+    /**
+     * Control loading the resource bundles from the class path without caching them in the resource bundle cache of the
+     * JDK, so only their stored copies are kept in memory.
+     */
+    private static final ResourceBundle.Control UNCACHED = new ResourceBundle.Control()
+    {
+        @Override
+        public long getTimeToLive(final String baseName, final Locale locale)
+        {
+            return TTL_DONT_CACHE;
+        }
+    };
+
+    /**
+     * Stored copies of the loaded resource bundles (k = bundle name, ex.: <b>i18n/day_fr</b>, v = stored resource bundle).
+     * The same resource bundle registered for several locales (fallback) is stored only once.
+     */
+    private final Map<String, ResourceBundle> stored = new ConcurrentHashMap<>();
+
+    /**
+     * Resource bundles having no regional file (k = language tag of the regional locale, ex.: <b>fr-CA</b>, v = Resource
+     * bundle paths).
+     * <br>
+     * These resource bundles are only registered for the parent locale (ex.: <b>fr</b>), the lookups of the regional
+     * locale falling back on it through its locale fallback chain. Recording them avoids looking for the missing regional
+     * files again, without modifying the registry.
+     */
+    private final Map<String, Set<String>> regionalMisses = new ConcurrentHashMap<>();
+
+    /**
+     * Cache of the formatted messages.
+     */
+    @Getter
+    private final MessageCache messageCache = new MessageCache(MessageCache.DEFAULT_MAXIMUM_SIZE);
+
+    /**
+     * Aggregated diagnostics (fallbacks and missing keys) of the localizations.
+     */
+    @Getter
+    private final LocalizationDiagnostics diagnostics = new LocalizationDiagnostics();
+
+    /**
+     * Statistics (lookup counters and sampled timings) of the localizations.
      */
     @Getter
-    private Locale locale;
+    private final LocalizationStatistics statistics = new LocalizationStatistics();
 
     /**
-     * Collection of resource bundles (k = locale, v = Resource bundle name, w = Resource bundle).
+     * Locales for which resource bundles are loaded (computed once).
      */
-    private final Map<Locale, Map<String, ResourceBundle>> bundles = new HashMap<>();
+    private final Supplier<List<Locale>> filteredLocales = Suppliers.memoize(I18nManager::computeFilteredLocales);
 
     /**
      * <b>Google</b> free translation processor.
@@ -85,19 +171,141 @@ public final class I18nManager
      */
     private I18nManager()
     {
-        this.locale = Locale.forLanguageTag("en"); // Set the default manager's locale to english.
-        LOGGER.debug(String.format("I18nManager initialized with locale: '%s (%s)'", this.locale, this.locale.getDisplayLanguage()));
+        this.defaultLocale = Locale.forLanguageTag("en"); // Set the default manager's locale to english.
+
+        try
+        {
+            this.archive = BundleArchive.fromResource(BundleArchive.DEFAULT_RESOURCE);
+        }
+        catch (IOException e)
+        {
+            LOGGER.warn(String.format("⚠️ Cannot open bundle archive: '%s': %s", BundleArchive.DEFAULT_RESOURCE, e.getMessage()));
+        }
+
+        if (LOGGER.isDebugEnabled())
+        {
+            LOGGER.debug(String.format("I18nManager initialized with locale: '%s (%s)'", this.defaultLocale, this.defaultLocale.getDisplayLanguage()));
+        }
+    }
+
+    /**
+     * Return the locale to use: the one of the {@link LocaleContext} open on the current thread if any, the locale of
+     * the manager otherwise.
+     * @return Locale.
+     */
+    public Locale getLocale()
+    {
+        Locale current = LocaleContext.current();
+
+        return current != null ? current : defaultLocale;
     }
 
     /**
-     * Set the locale to use.
+     * Set the locale of the manager (used when no {@link LocaleContext} is open and as a fallback locale).
      * @param locale Locale to set.
      */
     @Synchronized
     public void setLocale(final @NonNull Locale locale)
     {
-        this.locale = locale;
-        LOGGER.info(String.format("Locale set to: '%s (%s)'", this.locale, this.locale.getDisplayLanguage()));
+        this.defaultLocale = locale;
+        registry = registry.renew(); // The default locale is used as a fallback, values derived from the registry are now stale
+        LOGGER.info(String.format("Locale set to: '%s (%s)'", locale, locale.getDisplayLanguage()));
+    }
+
+    /**
+     * Set the storage mode of the resource bundles.
+     * <br>
+     * The storage mode applies to the resource bundles registered afterwards. Use {@link #clearAll()} before to apply it
+     * to all the resource bundles.
+     * @param storageMode Storage mode.
+     */
+    @Synchronized
+    public void setStorageMode(final @NonNull StorageMode storageMode)
+    {
+        this.storageMode = storageMode;
+        stored.clear();
+    }
+
+    /**
+     * Return the memory used by the registered resource bundles of each locale.
+     * <br>
+     * For resource bundles stored off-heap, this is the exact number of bytes used off-heap plus the size of their
+     * on-heap index. For the other resource bundles, this is an estimate of the size of their keys and values.
+     * @return Number of bytes (k = locale, v = number of bytes).
+     */
+    public Map<Locale, Long> getMemoryUsage()
+    {
+        return registry.getMemoryUsage();
+    }
+
+    /**
+     * Return the number of registered resource bundles of each locale.
+     * @return Number of resource bundles (k = locale, v = number of resource bundles).
+     */
+    public Map<Locale, Integer> getBundleCounts()
+    {
+        BundleRegistry snapshot = registry;
+        Map<Locale, Integer> counts = new LinkedHashMap<>();
+
+        for (Locale locale : snapshot.getLocales())
+        {
+            counts.put(locale, snapshot.get(locale).size());
+        }
+
+        return counts;
+    }
+
+    /**
+     * Return the number of distinct keys of the registered resource bundles of each locale.
+     * @return Number of keys (k = locale, v = number of keys).
+     */
+    public Map<Locale, Integer> getKeyCounts()
+    {
+        return registry.getKeyCounts();
+    }
+
+    /**
+     * Return the number of registered resource bundles of a locale.
+     * @param locale Locale.
+     * @return Number of resource bundles (<b>0</b> if none is registered for the locale).
+     */
+    public int getBundleCount(final @NonNull Locale locale)
+    {
+        Map<String, ResourceBundle> bundles = registry.get(locale);
+
+        return bundles == null ? 0 : bundles.size();
+    }
+
+    /**
+     * Return the number of distinct keys of the registered resource bundles of a locale.
+     * <br>
+     * The keys of the off-heap resource bundles are only counted on the first call following their registration.
+     * @param locale Locale.
+     * @return Number of keys (<b>0</b> if no resource bundle is registered for the locale).
+     */
+    public int getKeyCount(final @NonNull Locale locale)
+    {
+        return registry.getKeyCount(locale);
+    }
+
+    /**
+     * Use a bundle archive to load the resource bundles it contains.
+     * <br>
+     * Resource bundles already registered are kept, only the resource bundles loaded afterwards are served by the archive.
+     * @param path Bundle archive file path.
+     * @throws LocalizationException Thrown to indicate the bundle archive cannot be opened.
+     */
+    @Synchronized
+    public void loadArchive(final @NonNull Path path) throws LocalizationException
+    {
+        try
+        {
+            archive = BundleArchive.open(path);
+        }
+        catch (IOException e)
+        {
+            throw new LocalizationException(String.format("Cannot open bundle archive: '%s'", path), e);
+        }
     }
 
     /**
@@ -109,7 +317,7 @@ public final class I18nManager
      */
     public ResourceBundle getBundle(final @NonNull String resourceBundleName, final @NonNull LanguageType language) throws ResourceException
     {
-        Map<String, ResourceBundle> bundlesByName = bundles.get(language.getLocale());
+        Map<String, ResourceBundle> bundlesByName = registry.get(language.getLocale());
         if (bundlesByName != null)
         {
             return bundlesByName.get(resourceBundleName);
@@ -128,7 +336,7 @@ public final class I18nManager
      */
     public MemoryResourceBundle getBundleOrCreate(final @NonNull String resourceBundleName, final @NonNull LanguageType language, final @NonNull LanguageType referenceLanguage) throws ResourceException, LanguageException
     {
-        Map<String, ResourceBundle> bundlesByName = bundles.get(language.getLocale());
+        Map<String, ResourceBundle> bundlesByName = registry.get(language.getLocale());
         if (bundlesByName != null)
         {
             ResourceBundle bundle = bundlesByName.get(resourceBundleName);
@@ -185,6 +393,51 @@ public final class I18nManager
         }
     }
 
+    /**
+     * Load and register a set of resource bundles for all the supported locales.
+     * <br>
+     * Intended to be invoked once at startup, so the first localizations do not pay for the loading of the resource
+     * bundles. The resource bundles are loaded concurrently on the common fork-join pool, then registered all at once.
+     * @param paths Resource bundle paths.
+     * @return Loading time of each resource bundle (k = Resource bundle path, v = Cumulated loading time for all the locales).
+     * @throws LocalizationException Thrown to indicate a resource bundle cannot be found.
+     */
+    public Map<String, Duration> warmUp(final @NonNull Collection<String> paths) throws LocalizationException
+    {
+        List<Callable<LoadedBundle>> tasks = new ArrayList<>();
+        Map<String, Duration> elapsed = new LinkedHashMap<>();
+
+        for (String path : paths)
+        {
+            elapsed.put(path, Duration.ZERO);
+            for (Locale current : getFilteredLocales())
+            {
+                if (registry.get(current, path) == null)
+                {
+                    tasks.add(() -> LoadedBundle.load(archive, path, current));
+                }
+            }
+        }
+
+        Map<Locale, Map<String, ResourceBundle>> additions = new LinkedHashMap<>();
+        List<LoadedBundle> loadedBundles = invokeAll(tasks);
+        for (LoadedBundle loaded : loadedBundles)
+        {
+            additions.computeIfAbsent(loaded.locale, l -> new LinkedHashMap<>()).put(loaded.path, loaded.bundle);
+            elapsed.merge(loaded.path, Duration.ofNanos(loaded.nanos), Duration::plus);
+        }
+
+        registerAll(additions, false);
+        loadedBundles.forEach(loaded -> statistics.load(loaded.path, loaded.locale, loaded.nanos));
+
+        if (LOGGER.isDebugEnabled())
+        {
+            elapsed.forEach((path, duration) -> LOGGER.debug(String.format("☑️ Warmed up resource bundle: '%s' in: '%s ms'", path, duration.toMillis())));
+        }
+
+        return elapsed;
+    }
+
     /**
      * Retrieve the value of the given resource bundle key.
      * @param key Resource bundle key.
@@ -193,7 +446,7 @@ public final class I18nManager
      */
     public String get(final @NonNull String key) throws LocalizationException
     {
-        return get(key, locale);
+        return get(key, getLocale());
     }
 
     /**
@@ -208,6 +461,106 @@ public final class I18nManager
         return lookup(key, locale);
     }
 
+    /**
+     * Return the message template of the given resource bundle key.
+     * <br>
+     * The template is compiled once per (key, locale) and cached until the registered resource bundles change.
+     * @param key Resource bundle key.
+     * @param locale Locale for the localization.
+     * @return Message template.
+     * @throws LocalizationException Thrown to indicate the key cannot be found or its value is not a valid message pattern.
+     */
+    public MessageTemplate getTemplate(final @NonNull String key, final @NonNull Locale locale) throws LocalizationException
+    {
+        return findTemplate(null, key, locale);
+    }
+
+    /**
+     * Return the message template of a given resource bundle key.
+     * <br>
+     * The key is resolved in the given resource bundle only (see {@link #getKey(String, String, Locale)}), so keys
+     * shared by several resource bundles get their own templates.
+     * @param bundle Resource bundle (path and name).
+     * @param key Resource bundle key.
+     * @param locale Locale.
+     * @return Message template.
+     * @throws LocalizationException Thrown to indicate the key cannot be found or its value is not a valid message pattern.
+     */
+    public MessageTemplate getTemplate(final @NonNull String bundle, final @NonNull String key, final @NonNull Locale locale) throws LocalizationException
+    {
+        return findTemplate(bundle, key, locale);
+    }
+
+    /**
+     * Return the message template of a given resource bundle key, compiling it on first use.
+     * @param bundle Resource bundle (path and name) or <b>null</b> to resolve the key in the merged key index.
+     * @param key Resource bundle key.
+     * @param locale Locale.
+     * @return Message template.
+     * @throws LocalizationException Thrown to indicate the key cannot be found or its value is not a valid message pattern.
+     */
+    private MessageTemplate findTemplate(final String bundle, final @NonNull String key, final @NonNull Locale locale) throws LocalizationException
+    {
+        String path = bundle != null ? bundle : LocalizationDiagnostics.ANY_BUNDLE;
+        BundleRegistry snapshot = registry;
+        MessageTemplate template = snapshot.getTemplate(path, locale, key);
+
+        if (template == null)
+        {
+            String pattern = bundle != null ? getKey(bundle, key, locale) : lookup(key, locale);
+            try
+            {
+                template = MessageTemplate.compile(pattern, locale);
+            }
+            catch (IllegalArgumentException e)
+            {
+                throw new LocalizationException(String.format("Cannot compile resource key: '%s' for locale: '%s': %s", key, locale, e.getMessage()));
+            }
+
+            // The lookup may have loaded resource bundles, only cache the template in the snapshot it has been read from
+            if (registry == snapshot)
+            {
+                snapshot.putTemplate(path, locale, key, template);
+            }
+        }
+
+        return template;
+    }
+
+    /**
+     * Format the message of the given resource bundle key (a message pattern, see {@link MessageTemplate}) with a set of arguments.
+     * <br>
+     * Frequently formatted messages are cached (see {@link MessageCache}) when all their arguments are immutable
+     * values (ex.: strings, numbers, enumerated values, dates of the <b>java.time</b> package).
+     * @param key Resource bundle key.
+     * @param locale Locale for the localization.
+     * @param arguments Message arguments.
+     * @return Formatted message (localized).
+     * @throws LocalizationException Thrown to indicate an error occurred while trying to localize a resource.
+     */
+    public String format(final @NonNull String key, final @NonNull Locale locale, final Object... arguments) throws LocalizationException
+    {
+        long version = registry.getVersion();
+        MessageCache.Key message = MessageCache.keyOf(key, locale, arguments);
+
+        String formatted = messageCache.get(message, version);
+        if (formatted == null)
+        {
+            try
+            {
+                formatted = getTemplate(key, locale).format(arguments);
+            }
+            catch (IllegalArgumentException e)
+            {
+                throw new LocalizationException(String.format("Cannot format resource key: '%s' for locale: '%s': %s", key, locale, e.getMessage()));
+            }
+
+            messageCache.offer(message, formatted, version);
+        }
+
+        return formatted;
+    }
+
     /**
      * Retrieve the value (localized) of a given resource bundle key.
      * @param bundle Resource bundle (path and name).
@@ -222,6 +575,71 @@ public final class I18nManager
         return lookup(key,locale);
     }
 
+    /**
+     * Find the value of the given resource bundle key using the manager's locale.
+     * <br>
+     * Unlike {@link #get(String)}, a missing key does not raise an exception.
+     * @param key Resource bundle key.
+     * @return Optional value (localized).
+     */
+    public Optional<String> find(final @NonNull String key)
+    {
+        return Optional.ofNullable(findValue(key, getLocale()));
+    }
+
+    /**
+     * Find the value of the given resource bundle key.
+     * <br>
+     * Unlike {@link #get(String, Locale)}, a missing key does not raise an exception.
+     * @param key Resource bundle key.
+     * @param locale Locale for the localization.
+     * @return Optional value (localized).
+     */
+    public Optional<String> find(final @NonNull String key, final @NonNull Locale locale)
+    {
+        return Optional.ofNullable(findValue(key, locale));
+    }
+
+    /**
+     * Find the value of the given resource bundle key, loading the resource bundle if needed.
+     * <br>
+     * Unlike {@link #get(String, String, Locale)}, a missing key or resource bundle does not raise an exception.
+     * @param bundle Resource bundle (path and name).
+     * @param key Resource bundle key.
+     * @param locale Locale.
+     * @return Optional value (localized).
+     */
+    public Optional<String> find(final @NonNull String bundle, final @NonNull String key, final @NonNull Locale locale)
+    {
+        try
+        {
+            load(bundle, locale);
+        }
+        catch (Exception e)
+        {
+            return Optional.empty();
+        }
+
+        return Optional.ofNullable(findValue(key, locale));
+    }
+
+    /**
+     * Retrieve the value of the given resource bundle key or a default value if the key cannot be found.
+     * <br>
+     * This service never raises an exception and does not allocate anything on a hit, so it is well suited for probing
+     * optional keys.
+     * @param key Resource bundle key.
+     * @param locale Locale for the localization.
+     * @param defaultValue Value to return if the key cannot be found (may be <b>null</b>).
+     * @return Value (localized) or the default value.
+     */
+    public String getOrDefault(final @NonNull String key, final @NonNull Locale locale, final String defaultValue)
+    {
+        String value = findValue(key, locale);
+
+        return value != null ? value : defaultValue;
+    }
+
     /**
      * Retrieve the value (localized) of a given resource bundle key.
      * @param bundle Resource bundle (path and name).
@@ -257,6 +675,10 @@ public final class I18nManager
 
     /**
      * Localize a resource.
+     * <br>
+     * The element to localize is the localization method having directly invoked this service, if any, otherwise the
+     * annotated fields of the instance are localized. Only the caller frame is inspected; when the invoking method is known,
+     * prefer {@link #localize(Object, Locale, String)} which avoids inspecting the stack at all.
      * @param instance Instance containing the resource to localize.
      * @param locale Locale.
      * @return Localized value.
@@ -264,433 +686,605 @@ public final class I18nManager
      */
     public String localize(final @NonNull Object instance, final Locale locale) throws LocalizationException
     {
-        LocalizationInvocationContext context = new LocalizationInvocationContext();
-        context.setInvocationType(LocalizationInvocationType.UNKNOWN);
-
-        // Compute the invocation context
-        findInvocationMethod(context, instance);
+        Method method = STACK_WALKER.walk(frames -> frames
+                .filter(frame -> frame.getDeclaringClass() != I18nManager.class)
+                .findFirst()
+                .map(frame -> LocalizationPlan.findMethod(frame.getDeclaringClass(), frame.getMethodName()))
+                .orElse(null));
 
-        if (context.getInvocationType() == LocalizationInvocationType.UNKNOWN)
+        if (method != null)
         {
-            findInvocationField(context, instance);
+            return localizeElement(LocalizationPlan.of(instance.getClass(), method), instance, locale);
         }
 
-        switch (context.getInvocationType())
-        {
-            case METHOD:
-                return localizeElement(context.getInstanceClassAnnotation(), context.getMethodAnnotation(), instance, locale);
-
-            case FIELD:
-                localizeAllField(context, instance, locale);
-                return null;
-
-            case UNKNOWN:
-            default:
-                throw new LocalizationException(String.format("Unknown localize() service invocation for object of type: '%s' and locale: '%s'", instance.getClass().getName(), locale));
-        }
+        localizeFields(instance, locale);
+        return null;
     }
 
     /**
-     * Returns a list of filtered locales based on a range of authorized languages.
-     * @return List of filtered locales.
+     * Localize a resource given the name of the localization method.
+     * @param instance Instance containing the resource to localize.
+     * @param locale Locale.
+     * @param methodName Name of the localization method (a public method annotated with the <b>I18n</b> annotation or declared by {@link LocalizeEnum}).
+     * @return Localized value.
+     * @throws LocalizationException Thrown to indicate an error occurred while trying to localize a resource.
      */
-    private List<Locale> getFilteredLocales()
+    public String localize(final @NonNull Object instance, final Locale locale, final @NonNull String methodName) throws LocalizationException
     {
-        final String languagesPriorityRange = "en;q=1.0,fr;q=0.5,de;q=0.5,it;q=0.5,es;q=0.5,ja;q=0.5,af;q=0.5," +
-                "ar;q=0.5,bg;q=0.5,cs;q=0.5,da;q=0.5,el;q=0.5,et;q=0.5,fi;q=0.5,hi;q=0.5,hu;q=0.5,iw;q=0.5,ko;q=0.5," +
-                "nl;q=0.5,no;q=0.5,pl;q=0.5,pt;q=0.5,ro;q=0.5,ru;q=0.5,sq;q=0.5,th;q=0.5,tr;q=0.5,zh;q=0.5";
-
-        List<String> listWithDuplicates = new ArrayList<>();
-
-        // Get only locales for languages
-        for (Locale current : Locale.getAvailableLocales())
+        Method method = LocalizationPlan.findMethod(instance.getClass(), methodName);
+        if (method == null)
         {
-            listWithDuplicates.add(current.getLanguage());
+            throw new LocalizationException(String.format("Cannot find localization method: '%s' for object of type: '%s'", methodName, instance.getClass().getName()));
         }
 
-        // Remove duplicates
-        List<String> listWithoutDuplicates = listWithDuplicates.stream()
-                .distinct()
-                .toList();
+        return localizeElement(LocalizationPlan.of(instance.getClass(), method), instance, locale);
+    }
 
-        List<Locale.LanguageRange> languageRanges = Locale.LanguageRange.parse(languagesPriorityRange);
-        List<String> filtered = Locale.filterTags(languageRanges, listWithoutDuplicates);
+    /**
+     * Return the localized names of all the values of an enumeration.
+     * <br>
+     * The names are resolved through the <b>getName</b> localization method of the enumeration and are cached per
+     * (enumeration, locale) until a resource bundle is registered, the manager locale is changed or the bundles are cleared.
+     * @param <E> Enumeration type.
+     * @param type Enumeration class.
+     * @param locale Locale.
+     * @return Localized names indexed by ordinal (the returned array is a copy and can be freely modified). Values whose name cannot be localized have a <b>null</b> entry.
+     * @throws LocalizationException Thrown to indicate an error occurred while trying to localize a resource.
+     */
+    public <E extends Enum<E>> String[] getLabels(final @NonNull Class<E> type, final @NonNull Locale locale) throws LocalizationException
+    {
+        return labels(type, locale).clone();
+    }
 
-        return filtered.stream().map(Locale::forLanguageTag).toList();
+    /**
+     * Return the localized name of an enumerated value by reading the label table of its enumeration.
+     * @param value Enumerated value.
+     * @param locale Locale.
+     * @return Localized name.
+     * @throws LocalizationException Thrown to indicate an error occurred while trying to localize a resource.
+     * @see #getLabels(Class, Locale)
+     */
+    public String getLabel(final @NonNull Enum<?> value, final @NonNull Locale locale) throws LocalizationException
+    {
+        String label = labels(value.getDeclaringClass(), locale)[value.ordinal()];
+
+        return label != null ? label : localize(value, locale, "getName"); // Raises the localization error of the value
     }
 
     /**
-     * Add a resource bundle.
-     * @param path Resource bundle path and name.
+     * Return the label table of an enumeration, filling it if none exists or if it is stale.
+     * @param type Enumeration class.
      * @param locale Locale.
-     * @throws LocalizationException Thrown to indicate a resource bundle cannot be found.
+     * @return Localized names indexed by ordinal (<b>null</b> for values whose name cannot be localized).
+     * @throws LocalizationException Thrown to indicate an error occurred while trying to localize a resource.
      */
-    private void add(final @NonNull String path, final @NonNull Locale locale) throws LocalizationException
+    private String[] labels(final @NonNull Class<?> type, final @NonNull Locale locale) throws LocalizationException
     {
-        ResourceBundle bundle = getBundleFor(path, locale);
+        long version = registry.getVersion();
+        String[] labels = LabelTable.get(type, locale, version);
+        if (labels != null)
+        {
+            return labels;
+        }
 
-        if (bundle == null)
+        labels = fillLabels(type, locale);
+        if (registry.getVersion() != version)
         {
-            bundle = ResourceBundle.getBundle(path, locale);
+            // Filling the table has loaded some resource bundles, fill it again from the new registry
+            version = registry.getVersion();
+            labels = fillLabels(type, locale);
+        }
 
-            if (bundle == null)
-            {
-                throw new LocalizationException(String.format("Cannot find bundle: '%s'", path));
-            }
+        LabelTable.put(type, locale, version, labels);
 
-            if (bundle.getLocale().equals(locale))
+        return labels;
+    }
+
+    /**
+     * Localize the names of all the values of an enumeration.
+     * @param type Enumeration class.
+     * @param locale Locale.
+     * @return Localized names indexed by ordinal (<b>null</b> for values whose name cannot be localized).
+     * @throws LocalizationException Thrown to indicate an error occurred while trying to localize a resource.
+     */
+    private String[] fillLabels(final @NonNull Class<?> type, final @NonNull Locale locale) throws LocalizationException
+    {
+        Method method = LocalizationPlan.findMethod(type, "getName");
+        if (method == null || !type.isEnum())
+        {
+            throw new LocalizationException(String.format("Cannot find localization method: 'getName' for enumeration of type: '%s'", type.getName()));
+        }
+
+        LocalizationPlan plan = LocalizationPlan.of(type, method);
+        Object[] values = type.getEnumConstants();
+        String[] labels = new String[values.length];
+        for (int i = 0; i < values.length; i++)
+        {
+            try
             {
-                LOGGER.debug(String.format("☑️ Found resource bundle '%s' for language '%s (%s)' with '%s' entries", path, locale, locale.getDisplayLanguage(), bundle.keySet().size()));
+                labels[i] = localizeElement(plan, values[i], locale);
             }
-            else
+            catch (LocalizationException e)
             {
-                LOGGER.debug(String.format("❕Cannot find resource bundle: '%s' for language: '%s (%s)'. Replacing with default: '%s (%s)' with: '%s' entries", path, locale, locale.getDisplayLanguage(), bundle.getLocale(), bundle.getLocale().getDisplayLanguage(), bundle.keySet().size()));
+                labels[i] = null; // Only the values having a missing name will fail when localized
             }
-
-            bundles.computeIfAbsent(Locale.forLanguageTag(locale.getLanguage()), function -> Maps.newHashMap()).put(path, bundle);
         }
+
+        return labels;
     }
 
     /**
-     * Return a registered resource bundle.
-     * @param path Path (and name) of the resource bundle.
+     * Localize all the fields annotated with the <b>I18n</b> annotation of an object.
+     * @param instance Instance containing the fields to localize.
      * @param locale Locale.
-     * @return Resource bundle if one matches, <b>null</b> otherwise.
+     * @throws LocalizationException Thrown to indicate an error occurred while trying to localize a resource.
      */
-    private ResourceBundle getBundleFor(final @NonNull String path, final @NonNull Locale locale)
+    public void localizeFields(final @NonNull Object instance, final Locale locale) throws LocalizationException
     {
-        Map<String, ResourceBundle> bundlesForLocale = bundles.get(locale);
+        FieldLocalizationPlan plan = FieldLocalizationPlan.of(instance.getClass());
 
-        return bundlesForLocale == null ? null : bundlesForLocale.get(path);
+        if (plan.isEmpty())
+        {
+            throw new LocalizationException(String.format("Unknown localize() service invocation for object of type: '%s' and locale: '%s'", instance.getClass().getName(), locale));
+        }
+
+        localizeAllField(plan, instance, locale);
     }
 
     /**
-     * Lookup the first matching resource bundle entry matching the given key in registered resource bundles.
-     * @param key Resource bundle key.
+     * Localize all the fields annotated with the <b>I18n</b> annotation of a collection of objects.
+     * <br>
+     * Objects are grouped by class, so the field localization plan of a class is resolved once for the whole batch.
+     * @param instances Object instances.
      * @param locale Locale.
-     * @return Resource bundle value matching the key, <b>null</b> otherwise.
      * @throws LocalizationException Thrown to indicate an error occurred while trying to localize a resource.
      */
-    private String lookup(final @NonNull String key, final @NonNull Locale locale) throws LocalizationException
+    public void localizeAll(final @NonNull Collection<?> instances, final Locale locale) throws LocalizationException
+    {
+        localizeAll(instances, locale, false);
+    }
+
+    /**
+     * Localize all the fields annotated with the <b>I18n</b> annotation of a collection of objects.
+     * <br>
+     * Objects are grouped by class, so the field localization plan of a class is resolved once for the whole batch. When
+     * requested, the objects of large groups are split in batches of {@link #PARALLEL_BATCH_SIZE} objects localized
+     * concurrently on the common fork-join pool.
+     * @param instances Object instances.
+     * @param locale Locale.
+     * @param parallel True to localize large groups concurrently, false otherwise.
+     * @throws LocalizationException Thrown to indicate an error occurred while trying to localize a resource.
+     */
+    public void localizeAll(final @NonNull Collection<?> instances, final Locale locale, final boolean parallel) throws LocalizationException
     {
-        if (bundles.isEmpty())
+        Map<Class<?>, List<Object>> groups = new LinkedHashMap<>();
+        for (Object instance : instances)
         {
-            throw new LocalizationException(String.format(
-                    "No resource bundle found containing key: '%s' for locale: '%s'. Try loading the resource bundle first using I18nManager#load service!",
-                    key,
-                    locale));
+            groups.computeIfAbsent(instance.getClass(), type -> new ArrayList<>()).add(instance);
         }
 
-        Locale currentLocale = Locale.forLanguageTag(locale.getLanguage());
-
-        Map<String, ResourceBundle> elements = bundles.get(currentLocale);
-        for (ResourceBundle bundle : elements.values())
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (Map.Entry<Class<?>, List<Object>> group : groups.entrySet())
         {
-            if (!currentLocale.getDisplayLanguage().equals(locale.getDisplayLanguage()))
+            FieldLocalizationPlan plan = FieldLocalizationPlan.of(group.getKey());
+            if (plan.isEmpty())
             {
-                LOGGER.warn(String.format("No resource bundle: '%s', language-tag: '%s', language: '%s' found!",
-                        bundle.getBaseBundleName(), locale.toLanguageTag(), locale.getDisplayLanguage()));
+                throw new LocalizationException(String.format("Unknown localize() service invocation for object of type: '%s' and locale: '%s'", group.getKey().getName(), locale));
             }
 
-            if (bundle.containsKey(key))
+            List<Object> objects = group.getValue();
+            if (parallel && objects.size() > PARALLEL_BATCH_SIZE)
             {
-                return bundle.getString(key);
+                for (int start = 0; start < objects.size(); start += PARALLEL_BATCH_SIZE)
+                {
+                    List<Object> batch = objects.subList(start, Math.min(start + PARALLEL_BATCH_SIZE, objects.size()));
+                    tasks.add(() -> {
+                        localizeBatch(plan, batch, locale);
+                        return null;
+                    });
+                }
             }
             else
             {
-                loadBundle(bundle, locale);
-                if (bundle.containsKey(key))
-                {
-                    return bundle.getString(key);
-                }
+                localizeBatch(plan, objects, locale);
             }
         }
 
-        throw new LocalizationException(String.format("Resource key: '%s' for locale: '%s' not found!", key, locale));
+        invokeAll(tasks);
     }
 
     /**
-     * Load a resource bundle, if absent.
-     * @param bundle Resource bundle.
+     * Localize all the fields annotated with the <b>I18n</b> annotation of a stream of objects.
+     * @param <T> Type of the objects.
+     * @param instances Stream of object instances.
      * @param locale Locale.
+     * @return Localized objects (in the order of the stream).
+     * @throws LocalizationException Thrown to indicate an error occurred while trying to localize a resource.
+     * @see #localizeAll(Collection, Locale)
      */
-    private void loadBundle(final @NonNull ResourceBundle bundle, final @NonNull Locale locale)
+    public <T> List<T> localizeAll(final @NonNull Stream<T> instances, final Locale locale) throws LocalizationException
     {
-        try
-        {
-            load(bundle.getBaseBundleName(), locale);
-        }
-        catch (Exception e)
-        {
-            // Do nothing!
-        }
+        List<T> objects = instances.collect(Collectors.toList());
+        localizeAll(objects, locale);
+
+        return objects;
     }
 
     /**
-     * Localize all fields of an object.
-     * @param context Localization context.
-     * @param instance Object instance.
-     * @param locale Locale.
-     * @throws LocalizationException Thrown to indicate an error occurred while trying to localize a resource.
+     * Returns a list of filtered locales based on a range of authorized languages.
+     * @return List of filtered locales.
      */
-    private void localizeAllField(final @NonNull LocalizationInvocationContext context, final Object instance, final Locale locale) throws LocalizationException
+    private List<Locale> getFilteredLocales()
     {
-        Method method;
-        String localized;
+        return filteredLocales.get();
+    }
+
+    /**
+     * Computes the list of filtered locales based on a range of authorized languages.
+     * @return List of filtered locales.
+     */
+    private static List<Locale> computeFilteredLocales()
+    {
+        final String languagesPriorityRange = "en;q=1.0,fr;q=0.5,de;q=0.5,it;q=0.5,es;q=0.5,ja;q=0.5,af;q=0.5," +
+                "ar;q=0.5,bg;q=0.5,cs;q=0.5,da;q=0.5,el;q=0.5,et;q=0.5,fi;q=0.5,hi;q=0.5,hu;q=0.5,iw;q=0.5,ko;q=0.5," +
+                "nl;q=0.5,no;q=0.5,pl;q=0.5,pt;q=0.5,ro;q=0.5,ru;q=0.5,sq;q=0.5,th;q=0.5,tr;q=0.5,zh;q=0.5";
 
-        // Localize value for each field found annotated with I18n annotation
-        for (LocalizationFieldContext fieldContext : context.getFields())
+        List<String> listWithDuplicates = new ArrayList<>();
+
+        // Get only locales for languages
+        for (Locale current : Locale.getAvailableLocales())
         {
-            try
-            {
-                method = findSetterForField(context, fieldContext);
-                if (method != null)
-                {
-                    localized = localizeElement(context.getDeclaringClassAnnotation(), fieldContext.getFieldAnnotation(), instance, locale);
-                    method.invoke(instance, localized);
-                }
-            }
-            catch (Exception e)
-            {
-                throw new LocalizationException(e.getMessage());
-            }
+            listWithDuplicates.add(current.getLanguage());
         }
+
+        // Remove duplicates
+        List<String> listWithoutDuplicates = listWithDuplicates.stream()
+                .distinct()
+                .toList();
+
+        List<Locale.LanguageRange> languageRanges = Locale.LanguageRange.parse(languagesPriorityRange);
+        List<String> filtered = Locale.filterTags(languageRanges, listWithoutDuplicates);
+
+        return filtered.stream().map(Locale::forLanguageTag).toList();
     }
 
     /**
-     * Find the invocation method being the one which invoked the localization.
-     * @param context Localization context.
-     * @param instance Object instance.
+     * Add a resource bundle.
+     * <br>
+     * Resource bundles are registered by language, script and country (ex.: <b>fr</b> or <b>fr-CA</b>). The resource
+     * bundle registered for a regional locale is the most specific one found (ex.: <b>fr_CA</b>). When there is no
+     * regional file, the resource bundle is only registered for the parent locale (ex.: <b>fr</b>), if not already, and
+     * the lookups of the regional locale fall back on it, so the registry is left unchanged.
+     * @param path Resource bundle path and name.
+     * @param locale Locale.
+     * @throws LocalizationException Thrown to indicate a resource bundle cannot be found.
      */
-    private void findInvocationMethod(final @NonNull LocalizationInvocationContext context, final Object instance)
+    private void add(final @NonNull String path, final @NonNull Locale locale) throws LocalizationException
     {
-        Class<?> clazz;
+        Locale target = LocaleChain.normalize(locale);
+        ResourceBundle bundle = registry.get(target, path);
 
-        for (StackTraceElement trace : Thread.currentThread().getStackTrace())
+        if (bundle == null && !hasNoRegionalFile(target.toLanguageTag(), path))
         {
+            long start = System.nanoTime();
             try
             {
-                clazz = Class.forName(trace.getClassName());
+                bundle = findBundle(archive, path, target);
+            }
+            catch (MissingResourceException e)
+            {
+                throw new LocalizationException(String.format("Cannot find bundle: '%s'", path), e);
+            }
+            long nanos = System.nanoTime() - start;
 
-                isInvocationMethodValid(context, instance, clazz, trace);
-                if (context.getMethod() != null)
+            if (LOGGER.isDebugEnabled())
+            {
+                if (bundle.getLocale().equals(locale))
+                {
+                    LOGGER.debug(String.format("☑️ Found resource bundle '%s' for language '%s (%s)' with '%s' entries", path, locale, locale.getDisplayLanguage(), bundle.keySet().size()));
+                }
+                else
                 {
-                    return;
+                    LOGGER.debug(String.format("❕Cannot find resource bundle: '%s' for language: '%s (%s)'. Replacing with default: '%s (%s)' with: '%s' entries", path, locale, locale.getDisplayLanguage(), bundle.getLocale(), bundle.getLocale().getDisplayLanguage(), bundle.keySet().size()));
                 }
             }
-            catch (ClassNotFoundException e)
+
+            Locale parent = new Locale(target.getLanguage());
+            Locale found = bundle.getLocale();
+            if (!parent.equals(target) && found.getCountry().isEmpty() && found.getScript().isEmpty() && found.getVariant().isEmpty())
+            {
+                // No regional file, the regional locale falls back on the resource bundle of its parent locale
+                if (registry.get(parent, path) == null)
+                {
+                    register(parent, path, bundle);
+                    statistics.load(path, parent, nanos);
+                }
+                regionalMisses.computeIfAbsent(target.toLanguageTag(), tag -> ConcurrentHashMap.newKeySet()).add(path);
+            }
+            else
             {
-                // Do nothing, just process the next trace!
+                register(target, path, bundle);
+                statistics.load(path, target, nanos);
             }
         }
     }
 
     /**
-     * Find the invocation field being the one which invoked the localization.
-     * @param context Localization context.
-     * @param instance Object instance.
+     * Find a resource bundle in a bundle archive or, if it does not contain it, through the class loader.
+     * @param archive Bundle archive (may be <b>null</b>).
+     * @param path Resource bundle path and name.
+     * @param locale Locale.
+     * @return Resource bundle.
+     * @throws MissingResourceException Thrown to indicate the resource bundle cannot be found.
      */
-    private void findInvocationField(final @NonNull LocalizationInvocationContext context, final Object instance)
+    private static ResourceBundle findBundle(final BundleArchive archive, final @NonNull String path, final @NonNull Locale locale)
     {
-        Class<?> declaringClass;
+        ResourceBundle bundle = archive != null ? archive.getBundle(path, locale) : null;
 
-        // Find all fields annotated with I18n annotation
-        List<Field> fields = ReflectionHelper.findAnnotatedFieldsInClassHierarchy(instance.getClass(), I18n.class);
-        for (Field field : fields)
-        {
-            declaringClass = field.getDeclaringClass();
-
-            context.setInvocationType(LocalizationInvocationType.FIELD);
-            context.addField(new LocalizationFieldContext(field, field.getAnnotation(I18n.class)));
+        return bundle != null ? bundle : ResourceBundle.getBundle(path, locale, UNCACHED);
+    }
 
-            if (context.getDeclaringClass() == null)
-            {
-                context.setDeclaringClass(declaringClass);
-                if (declaringClass.isAnnotationPresent(I18n.class))
-                {
-                    context.setDeclaringClassAnnotation(declaringClass.getAnnotation(I18n.class));
-                }
-            }
-        }
+    /**
+     * Register a resource bundle by publishing a new snapshot of the registry.
+     * @param locale Locale.
+     * @param path Resource bundle path and name.
+     * @param bundle Resource bundle.
+     */
+    @Synchronized
+    private void register(final @NonNull Locale locale, final @NonNull String path, final @NonNull ResourceBundle bundle)
+    {
+        registry = registry.with(locale, path, store(bundle, false));
     }
 
     /**
-     * Check if the found method is a valid method which may have invoked the localization?
-     * @param context Localization context.
-     * @param instance Object instance.
-     * @param clazz Class.
-     * @param trace Stack trace element.
+     * Return if a resource bundle is known to have no regional file for a regional locale.
+     * @param tag Language tag of the regional locale (ex.: <b>fr-CA</b>).
+     * @param path Resource bundle path and name.
+     * @return True if the resource bundle has no regional file, false if it has one or is not yet loaded for the locale.
      */
-    private void isInvocationMethodValid(final @NonNull LocalizationInvocationContext context, final Object instance, final @NonNull Class<?> clazz, final @NonNull StackTraceElement trace)
+    private boolean hasNoRegionalFile(final @NonNull String tag, final @NonNull String path)
     {
-        Method method;
+        Set<String> paths = regionalMisses.get(tag);
 
-        try
+        return paths != null && paths.contains(path);
+    }
+
+    /**
+     * Register a set of resource bundles by publishing a single new snapshot of the registry.
+     * @param additions Resource bundles to register (k = locale, v = Resource bundle path, w = Resource bundle).
+     * @param reloaded Are the resource bundles reloaded ones (their stored copies are then replaced)?
+     */
+    @Synchronized
+    private void registerAll(final @NonNull Map<Locale, Map<String, ResourceBundle>> additions, final boolean reloaded)
+    {
+        if (!additions.isEmpty())
         {
-            method = clazz.getMethod(trace.getMethodName());
-            verifyMethodSignature(context, instance, method);
+            additions.values().forEach(bundles -> bundles.replaceAll((path, bundle) -> store(bundle, reloaded)));
+
+            registry = registry.withAll(additions);
         }
-        catch (NoSuchMethodException e)
+    }
+
+    /**
+     * Return the resource bundle to register according to the storage mode.
+     * <br>
+     * Resource bundles are stored off-heap or, on the heap, as copies whose keys and values go through the shared
+     * {@link ValuePool}. The copy of a resource bundle is made once and shared by all the locales using it, unless the
+     * resource bundle has been reloaded.
+     * @param bundle Loaded resource bundle.
+     * @param reloaded Has the resource bundle been reloaded (its stored copy is then replaced)?
+     * @return Resource bundle to register.
+     */
+    private ResourceBundle store(final @NonNull ResourceBundle bundle, final boolean reloaded)
+    {
+        if (bundle.getBaseBundleName() == null)
         {
-            try
-            {
-                // Maybe the method has a parameter of type Locale
-                method = clazz.getMethod(trace.getMethodName(), Locale.class);
-                verifyMethodSignature(context, instance, method);
-            }
-            catch (NoSuchMethodException oe)
-            {
-                // Do nothing, seems to be the wrong method!
-            }
+            return copy(bundle);
         }
+
+        String name = bundle.getBaseBundleName() + (Locale.ROOT.equals(bundle.getLocale()) ? "" : "_" + bundle.getLocale());
+
+        return reloaded ? stored.compute(name, (n, previous) -> copy(bundle)) : stored.computeIfAbsent(name, n -> copy(bundle));
     }
 
     /**
-     * Verify the method signature.
-     * @param context Localization context.
-     * @param instance Object instance.
-     * @param method Method.
+     * Copy a resource bundle according to the storage mode.
+     * @param bundle Loaded resource bundle.
+     * @return Stored copy of the resource bundle.
+     */
+    private ResourceBundle copy(final @NonNull ResourceBundle bundle)
+    {
+        return storageMode == StorageMode.OFF_HEAP ? OffHeapResourceBundle.of(bundle) : PooledResourceBundle.of(bundle, ValuePool.getInstance());
+    }
+
+    /**
+     * Lookup the value of the given key in the merged key index of the registered resource bundles.
+     * @param key Resource bundle key.
+     * @param locale Locale.
+     * @return Resource bundle value matching the key.
+     * @throws LocalizationException Thrown to indicate an error occurred while trying to localize a resource.
      */
-    private void verifyMethodSignature(final @NonNull LocalizationInvocationContext context, final Object instance, final @NonNull Method method)
+    private String lookup(final @NonNull String key, final @NonNull Locale locale) throws LocalizationException
     {
-        if (method.isAnnotationPresent(I18n.class)) // Method should be annotated with I18n annotation
+        if (registry.isEmpty())
         {
-            fillInvocationContext(context, instance, method);
+            throw new LocalizationException(String.format(
+                    "No resource bundle found containing key: '%s' for locale: '%s'. Try loading the resource bundle first using I18nManager#load service!",
+                    key,
+                    locale));
         }
 
-        if (method.getDeclaringClass().isAssignableFrom(LocalizeEnum.class)) // Method's class should implement the LocalizeEnum interface
+        long start = statistics.start();
+        String value = findValue(key, locale);
+        statistics.lookup(locale, start, value != null, false);
+        if (value == null)
         {
-            fillInvocationContext(context, instance, method);
+            diagnostics.record(LocalizationDiagnostics.Event.MISSING_KEY, LocalizationDiagnostics.ANY_BUNDLE, key, locale);
+            throw new LocalizationException(String.format("Resource key: '%s' for locale: '%s' not found!", key, locale));
         }
+
+        return value;
     }
 
     /**
-     * Fill the localization context.
-     * @param context Localization context.
-     * @param instance Object instance.
-     * @param method Method.
+     * Find the value of the given key in the merged key index of the registered resource bundles.
+     * <br>
+     * This is the exception free lookup path: on a hit it neither allocates nor formats anything.
+     * @param key Resource bundle key.
+     * @param locale Locale.
+     * @return Resource bundle value matching the key or <b>null</b> if none.
      */
-    private void fillInvocationContext(final @NonNull LocalizationInvocationContext context, final Object instance, final @NonNull Method method)
+    private String findValue(final @NonNull String key, final @NonNull Locale locale)
     {
-        // Fill the method's context data
-        context.setMethod(method);
-        context.setInvocationType(LocalizationInvocationType.METHOD);
+        BundleRegistry snapshot = registry;
+        LocaleChain chain = snapshot.getChain(locale, defaultLocale);
+        String tag = chain.getTag();
 
-        if (method.isAnnotationPresent(I18n.class))
+        String value = snapshot.lookup(tag, key);
+        if (value == null && !snapshot.isEmpty())
         {
-            context.setMethodAnnotation(method.getAnnotation(I18n.class));
+            if (!snapshot.contains(tag) && !regionalMisses.containsKey(tag))
+            {
+                // First lookup for this locale, load the already known resource bundles for it
+                loadBundles(snapshot.getPaths(), locale);
+                snapshot = registry;
+                value = snapshot.lookup(tag, key);
+            }
+
+            // The resource bundles having no regional file are only registered for the parent locales
+            for (int i = 0; value == null && i < chain.getParentTags().size(); i++)
+            {
+                value = snapshot.lookup(chain.getParentTags().get(i), key);
+            }
         }
 
-        // Fill the class's context data
-        Class<?> declaringClass = method.getDeclaringClass();
-        context.setDeclaringClass(declaringClass);
+        return value;
+    }
 
-        if (declaringClass.isAnnotationPresent(I18n.class))
+    /**
+     * Load a set of resource bundles for a locale, if absent.
+     * @param paths Resource bundle paths.
+     * @param locale Locale.
+     */
+    private void loadBundles(final @NonNull Set<String> paths, final @NonNull Locale locale)
+    {
+        for (String path : paths)
         {
-            context.setDeclaringClassAnnotation(declaringClass.getAnnotation(I18n.class));
+            try
+            {
+                load(path, locale);
+            }
+            catch (Exception e)
+            {
+                // Do nothing!
+            }
         }
+    }
 
-        if (instance instanceof Enum<?> value)
+    /**
+     * Localize all fields of a batch of objects of the same class.
+     * @param plan Field localization plan of the objects class.
+     * @param instances Object instances.
+     * @param locale Locale.
+     * @throws LocalizationException Thrown to indicate an error occurred while trying to localize a resource.
+     */
+    private void localizeBatch(final @NonNull FieldLocalizationPlan plan, final @NonNull List<Object> instances, final Locale locale) throws LocalizationException
+    {
+        for (FieldLocalizationPlan.LocalizedField field : plan.getFields())
         {
-            Class<?> instanceClass = value.getClass();
-            context.setInstanceClass(instanceClass);
-            if (instanceClass.isAnnotationPresent(I18n.class))
+            field.checkSetter();
+            for (Object instance : instances)
             {
-                context.setInstanceClassAnnotation(instanceClass.getAnnotation(I18n.class));
+                field.set(instance, localizeElement(field.getPlan(), instance, locale), locale);
             }
         }
     }
 
     /**
-     * Find the setter method for a given field.
-     * @param context Localization context.
-     * @param fieldContext Field localization context.
-     * @throws LocalizationException Thrown to indicate an error occurred while trying to localize a resource.
+     * Execute a set of tasks on the common fork-join pool and wait for their completion.
+     * @param <T> Type of the task results.
+     * @param tasks Tasks.
+     * @return Task results (in the order of the tasks).
+     * @throws LocalizationException Thrown to indicate a task failed.
      */
-    private Method findSetterForField(LocalizationInvocationContext context, LocalizationFieldContext fieldContext) throws LocalizationException
+    private static <T> List<T> invokeAll(final @NonNull List<Callable<T>> tasks) throws LocalizationException
     {
-        Method method = null;
+        List<T> results = new ArrayList<>(tasks.size());
 
         try
         {
-            method = context.getDeclaringClass().getMethod("set" + StringUtils.capitalize(fieldContext.getField().getName()), String.class);
-        }
-        catch (Exception e)
-        {
-            try
+            for (Future<T> future : ForkJoinPool.commonPool().invokeAll(tasks))
             {
-                method = context.getDeclaringClass().getMethod("set" + StringUtils.capitalize(fieldContext.getField().getName()), String.class, Locale.class);
+                results.add(future.get());
             }
-            catch (Exception ex)
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new LocalizationException(e);
+        }
+        catch (ExecutionException e)
+        {
+            // The fork-join pool wraps the checked exceptions raised by the tasks
+            Throwable cause = e.getCause();
+            while (cause != null && !(cause instanceof LocalizationException))
             {
-                throw new LocalizationException(e.getMessage());
+                cause = cause.getCause();
             }
+
+            throw cause != null ? (LocalizationException) cause : new LocalizationException(e);
         }
 
-        return method;
+        return results;
+    }
+
+    /**
+     * Localize all fields of an object.
+     * @param plan Field localization plan of the object class.
+     * @param instance Object instance.
+     * @param locale Locale.
+     * @throws LocalizationException Thrown to indicate an error occurred while trying to localize a resource.
+     */
+    private void localizeAllField(final @NonNull FieldLocalizationPlan plan, final @NonNull Object instance, final Locale locale) throws LocalizationException
+    {
+        // Localize value for each field annotated with I18n annotation
+        for (FieldLocalizationPlan.LocalizedField field : plan.getFields())
+        {
+            field.checkSetter();
+            field.set(instance, localizeElement(field.getPlan(), instance, locale), locale);
+        }
     }
 
     /**
      * Localize an element.
-     * @param classAnnotation Annotation on the class.
-     * @param elementAnnotation Annotation on the element.
+     * @param plan Localization plan.
      * @param instance Instance.
      * @param locale Locale.
      * @throws LocalizationException Thrown to indicate an error occurred while trying to localize a resource.
      */
-    private String localizeElement(final Annotation classAnnotation, final Annotation elementAnnotation, final Object instance, final @NonNull Locale locale) throws LocalizationException
+    private String localizeElement(final @NonNull LocalizationPlan plan, final Object instance, final @NonNull Locale locale) throws LocalizationException
     {
-        String classBundle = null;
-        String classKey = null;
-        String bundle = null;
-        String key = null;
+        String bundle;
+        String key;
         String localized;
 
         try
         {
-            if (classAnnotation != null)
-            {
-                I18n annotation = (I18n) classAnnotation;
-
-                if (!annotation.bundle().isEmpty())
-                {
-                    classBundle = StringExpander.expandVariables(instance, annotation.bundle());
-                }
-
-                if (!annotation.key().isEmpty())
-                {
-                    classKey = StringExpander.expandVariables(instance, annotation.key());
-                }
-            }
-
-            if (elementAnnotation != null)
-            {
-                I18n annotation = (I18n) elementAnnotation;
-
-                if (!annotation.bundle().isEmpty())
-                {
-                    bundle = StringExpander.expandVariables(instance, annotation.bundle());
-                }
-
-                if (!annotation.key().isEmpty())
-                {
-                    key = StringExpander.expandVariables(instance, annotation.key());
-                }
-            }
-
-            if ((bundle == null || bundle.isBlank()) && (classBundle == null || Objects.requireNonNull(classBundle).isBlank()))
+            bundle = plan.getBundleTemplate() != null ? plan.getBundleTemplate().expand(instance) : null;
+            if (bundle == null || bundle.isBlank())
             {
                 throw new LocalizationException("Element annotated with the I18n annotation must provide a valid 'bundle' parameter!");
             }
 
-            if ((key == null || key.isBlank()) && (classKey == null || Objects.requireNonNull(classKey).isBlank()))
+            key = plan.getKeyTemplate() != null ? plan.getKeyTemplate().expand(instance) : null;
+            if (key == null || key.isBlank())
             {
                 throw new LocalizationException("Element annotated with the I18n annotation must provide a valid 'key' parameter!");
             }
 
-            localized = getKey(bundle != null ? bundle : classBundle, key != null ? key : classKey, locale);
+            localized = getKey(bundle, key, locale);
         }
-        catch (Exception e)
+        catch (StringExpanderException e)
         {
             throw new LocalizationException(e.getMessage());
         }
@@ -747,67 +1341,243 @@ public final class I18nManager
 
     /**
      * Retrieve the given key from the given resource bundle path.
+     * <br>
+     * Unlike {@link #get(String, String, Locale)}, which looks the key up in all the resource bundles registered for the
+     * locale, the key is only looked up in the given resource bundle (or the one it falls back on). This is the resolution
+     * used to localize the elements annotated with the <b>I18n</b> annotation, and by the generated localizers.
+     * <br>
+     * Keys known to be missing are recorded per (resource bundle, locale), so looking them up again fails immediately.
      * @param filePath Resource bundle path and name.
      * @param key Key.
      * @param locale Locale.
      * @return Value (localized)).
+     * @throws LocalizationException Thrown to indicate the resource bundle or the key cannot be found.
      */
-    private String getKey(final @NonNull String filePath, final @NonNull String key, final @NonNull Locale locale) throws LocalizationException
+    public String getKey(final @NonNull String filePath, final @NonNull String key, final @NonNull Locale locale) throws LocalizationException
     {
-        ResourceBundle bundle;
-        Locale currentLocale = locale;
+        long start = statistics.start();
+        BundleResolution resolution = resolveBundle(filePath, locale);
 
-        // Ensure the resource bundles are loaded
-        load(filePath);
+        String missMessage = resolution.getMissMessage(key);
+        String value = missMessage != null ? null : resolution.find(key);
+        statistics.lookup(locale, start, value != null, resolution.isFallback());
+        if (resolution.isFallback())
+        {
+            diagnostics.record(LocalizationDiagnostics.Event.FALLBACK, filePath, key, locale);
+        }
 
-        Map<String, ResourceBundle> elements = bundles.get(currentLocale);
-        if (elements != null)
+        if (value == null)
         {
-            bundle = elements.get(filePath);
-            if (bundle != null)
+            diagnostics.record(LocalizationDiagnostics.Event.MISSING_KEY, filePath, key, locale);
+            if (missMessage == null)
             {
-                if (!bundle.getLocale().toLanguageTag().equals(currentLocale.toLanguageTag()))
-                {
-                    LOGGER.warn(String.format("⚠️ Warning: cannot find resource bundle: '%s', language-tag: '%s', language: '%s'!",
-                            bundle.getBaseBundleName(), currentLocale, currentLocale.getDisplayLanguage()));
-                }
+                missMessage = String.format("Cannot find key: '%s' in bundle: '%s' for locale: '%s'", key, filePath, resolution.getLocale());
+                resolution.recordMiss(key, missMessage);
+            }
 
-                try
+            throw new LocalizationException(missMessage);
+        }
+
+        return value;
+    }
+
+    /**
+     * Resolve the resource bundle to use for a given resource bundle path and locale.
+     * <br>
+     * The locales of the fallback chain of the requested locale (ex.: <b>fr-CA</b> -&gt; <b>fr</b> -&gt; <b>en</b>) are
+     * tried in turn, the first one having a resource bundle of its own language is used. The resolution is computed
+     * only once per (resource bundle, locale) and per registry snapshot, fallbacks being counted by the diagnostics.
+     * @param filePath Resource bundle path and name.
+     * @param locale Locale.
+     * @return Bundle resolution.
+     * @throws LocalizationException Thrown to indicate the resource bundle cannot be found.
+     */
+    private BundleResolution resolveBundle(final @NonNull String filePath, final @NonNull Locale locale) throws LocalizationException
+    {
+        BundleRegistry snapshot = registry;
+        BundleResolution resolution = snapshot.getResolution(filePath, locale);
+        if (resolution != null)
+        {
+            return resolution;
+        }
+
+        LocaleChain chain = snapshot.getChain(locale, defaultLocale);
+        ResourceBundle bundle = null;
+        Locale resolved = null;
+
+        for (Locale candidate : chain.getLocales())
+        {
+            ResourceBundle found = registry.get(candidate, filePath);
+            if (found == null)
+            {
+                load(filePath, candidate);
+                found = registry.get(candidate, filePath);
+            }
+
+            if (bundle == null)
+            {
+                bundle = found; // Used as a last resort if no locale of the chain has a resource bundle of its own language
+                resolved = candidate;
+            }
+
+            if (found != null && found.getLocale().getLanguage().equals(candidate.getLanguage()))
+            {
+                bundle = found;
+                resolved = candidate;
+                break;
+            }
+        }
+
+        if (bundle == null)
+        {
+            throw new LocalizationException(String.format("Cannot find bundle: '%s'", filePath));
+        }
+
+        boolean fallback = !resolved.getLanguage().equals(chain.getLocale().getLanguage());
+        if (fallback && LOGGER.isDebugEnabled())
+        {
+            LOGGER.debug(String.format("❕No resource bundle found for bundle: '%s', language: '%s (%s)'. Use of: '%s (%s)' instead!",
+                    filePath,
+                    chain.getLocale(),
+                    chain.getLocale().getDisplayLanguage(),
+                    resolved.toLanguageTag(),
+                    resolved.getDisplayLanguage()));
+        }
+
+        if (!bundle.getLocale().getLanguage().equals(resolved.getLanguage()) && LOGGER.isDebugEnabled())
+        {
+            LOGGER.debug(String.format("❕Cannot find resource bundle: '%s', language-tag: '%s', language: '%s'!",
+                    bundle.getBaseBundleName(), resolved, resolved.getDisplayLanguage()));
+        }
+
+        resolution = new BundleResolution(bundle, resolved, fallback);
+
+        // Loading resource bundles (or a concurrent reload or clear) replaces the registry, only cache the resolution
+        // in the snapshot it has been resolved from, it will be cached by the next resolution otherwise
+        if (registry == snapshot)
+        {
+            snapshot.putResolution(filePath, locale, resolution);
+        }
+
+        return resolution;
+    }
+
+    /**
+     * Return the version of the registered resource bundles.
+     * <br>
+     * The version changes each time resource bundles are registered, reloaded or cleared, or the manager locale is
+     * changed, so values derived from the resource bundles can be cached and invalidated by comparing versions.
+     * @return Version.
+     */
+    public long getVersion()
+    {
+        return registry.getVersion();
+    }
+
+    /**
+     * Watch a directory holding resource bundle <b>properties</b> files (ex.: <b>src/main/resources</b>) and reload the
+     * registered resource bundles whose files are created or modified.
+     * <br>
+     * Reloaded resource bundles are read from the directory and replace the registered ones atomically.
+     * @param root Root directory (resource bundle paths are relative to it).
+     * @return Resource bundle watcher to close to stop watching.
+     * @throws LocalizationException Thrown to indicate the directory cannot be watched.
+     */
+    public BundleWatcher watch(final @NonNull Path root) throws LocalizationException
+    {
+        try
+        {
+            return new BundleWatcher(this, root);
+        }
+        catch (IOException e)
+        {
+            throw new LocalizationException(String.format("Cannot watch directory: '%s': %s", root, e.getMessage()));
+        }
+    }
+
+    /**
+     * Reload the registered resource bundles matching a set of changed <b>properties</b> files.
+     * <br>
+     * A changed file reloads, for its resource bundle, the locales of its language as well as the locales falling back
+     * on it. A changed file without locale (root resource bundle) reloads all the locales of its resource bundle.
+     * @param root Root directory.
+     * @param files Changed files.
+     */
+    void reload(final @NonNull Path root, final @NonNull Set<Path> files)
+    {
+        long start = System.nanoTime();
+        BundleRegistry snapshot = registry;
+        Map<Locale, Map<String, ResourceBundle>> reloaded = new LinkedHashMap<>();
+
+        for (Path file : files)
+        {
+            String name = root.relativize(file).toString().replace(file.getFileSystem().getSeparator(), "/");
+            name = name.substring(0, name.length() - ".properties".length());
+
+            for (String path : snapshot.getPaths())
+            {
+                String language = BundleWatcher.getLanguage(name, path);
+                if (language == null)
                 {
-                    return bundle.getString(key);
+                    continue; // Not a file of this resource bundle
                 }
-                catch (MissingResourceException e)
+
+                // The file may be a new regional file, look for it again on the next lookup of a regional locale
+                regionalMisses.values().forEach(paths -> paths.remove(path));
+                regionalMisses.values().removeIf(Set::isEmpty);
+
+                for (Locale locale : snapshot.getLocales())
                 {
-                    throw new LocalizationException(
-                            String.format(
-                                    "Cannot find key: '%s' in bundle: '%s' for locale: '%s'",
-                                    key,
-                                    filePath,
-                                    currentLocale));
+                    ResourceBundle current = snapshot.get(locale, path);
+                    if (current != null && (language.isEmpty() || language.equals(locale.getLanguage()) || language.equals(current.getLocale().getLanguage())))
+                    {
+                        try
+                        {
+                            ResourceBundle bundle = BundleWatcher.DirectoryBundle.load(root, path, locale);
+                            if (bundle != null)
+                            {
+                                reloaded.computeIfAbsent(locale, l -> new LinkedHashMap<>()).put(path, bundle);
+                            }
+                        }
+                        catch (IOException | IllegalArgumentException e)
+                        {
+                            LOGGER.warn(String.format("⚠️ Cannot reload resource bundle: '%s' for locale: '%s': %s", path, locale, e.getMessage()));
+                        }
+                    }
                 }
             }
         }
-        else
-        {
-            LOGGER.warn(String.format("⚠️ No resource bundle found for bundle: '%s', language: '%s (%s)'. Use of default language: '%s (%s)' instead!",
-                    filePath,
-                    currentLocale,
-                    currentLocale.getDisplayLanguage(),
-                    getLocale().toLanguageTag(),
-                    getLocale().getDisplayLanguage()));
 
-            currentLocale = Locale.forLanguageTag(getLocale().getLanguage());
-        }
+        registerAll(reloaded, true);
+        statistics.reload(reloaded.values().stream().mapToInt(Map::size).sum(), System.nanoTime() - start);
+
+        reloaded.forEach((locale, bundles) -> bundles.keySet().forEach(path -> LOGGER.info(String.format("☑️ Reloaded resource bundle: '%s' for language: '%s (%s)'", path, locale, locale.getDisplayLanguage()))));
+    }
 
-        return getKey(filePath, key, currentLocale);
+    /**
+     * Unload a resource bundle registered for a locale.
+     * <br>
+     * The resource bundle is loaded again on the next localization requiring it.
+     * @param path Resource bundle path and name.
+     * @param locale Locale.
+     */
+    @Synchronized
+    public void unload(final @NonNull String path, final @NonNull Locale locale)
+    {
+        registry = registry.without(LocaleChain.normalize(locale), path);
+        regionalMisses.values().forEach(paths -> paths.remove(path));
+        regionalMisses.values().removeIf(Set::isEmpty);
     }
 
     /**
      * Clear all loaded resource bundles.
      */
+    @Synchronized
     public void clearAll()
     {
-        bundles.clear();
+        stored.clear();
+        regionalMisses.clear();
+        registry = BundleRegistry.empty();
     }
 
     /**
@@ -823,4 +1593,69 @@ public final class I18nManager
     {
         return GoogleFreeTranslator.translate(source, target, text);
     }
+
+    /**
+     * A resource bundle loaded during a warm-up.
+     */
+    private static final class LoadedBundle
+    {
+        /**
+         * Resource bundle path and name.
+         */
+        private final String path;
+
+        /**
+         * Locale the resource bundle is registered for.
+         */
+        private final Locale locale;
+
+        /**
+         * Resource bundle.
+         */
+        private final ResourceBundle bundle;
+
+        /**
+         * Loading time (in nanoseconds).
+         */
+        private final long nanos;
+
+        /**
+         * Create a loaded resource bundle.
+         * @param path Resource bundle path and name.
+         * @param locale Locale the resource bundle is registered for.
+         * @param bundle Resource bundle.
+         * @param nanos Loading time (in nanoseconds).
+         */
+        private LoadedBundle(final String path, final Locale locale, final ResourceBundle bundle, final long nanos)
+        {
+            this.path = path;
+            this.locale = locale;
+            this.bundle = bundle;
+            this.nanos = nanos;
+        }
+
+        /**
+         * Load a resource bundle.
+         * @param archive Bundle archive (may be <b>null</b>).
+         * @param path Resource bundle path and name.
+         * @param locale Locale.
+         * @return Loaded resource bundle.
+         * @throws LocalizationException Thrown to indicate a resource bundle cannot be found.
+         */
+        private static LoadedBundle load(final BundleArchive archive, final String path, final Locale locale) throws LocalizationException
+        {
+            long start = System.nanoTime();
+
+            try
+            {
+                ResourceBundle bundle = findBundle(archive, path, locale);
+
+                return new LoadedBundle(path, LocaleChain.normalize(locale), bundle, System.nanoTime() - start);
+            }
+            catch (MissingResourceException e)
+            {
+                throw new LocalizationException(String.format("Cannot find bundle: '%s'", path), e);
+            }
+        }
+    }
 }
@@ -0,0 +1,94 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc. 2021-2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Systems Inc.
+ * and its suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.i18n.core.localization;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A label table holds the localized names of all the values of an enumeration for a given locale, indexed by ordinal.
+ * <br>
+ * A table is bound to the version of the {@link BundleRegistry} it has been filled from, so it is considered stale and
+ * refilled as soon as a resource bundle is registered or the registry is cleared.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+final class LabelTable
+{
+    /**
+     * Label tables (k = enumeration class, v = locale, w = label table).
+     */
+    private static final ClassValue<Map<Locale, LabelTable>> TABLES = new ClassValue<>()
+    {
+        @Override
+        protected Map<Locale, LabelTable> computeValue(final Class<?> type)
+        {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    /**
+     * Version of the registry the table has been filled from.
+     */
+    @Getter
+    private final long version;
+
+    /**
+     * Localized names indexed by ordinal.
+     */
+    @Getter
+    private final String[] labels;
+
+    /**
+     * Create a label table.
+     * @param version Version of the registry the table has been filled from.
+     * @param labels Localized names indexed by ordinal.
+     */
+    private LabelTable(final long version, final @NonNull String[] labels)
+    {
+        this.version = version;
+        this.labels = labels;
+    }
+
+    /**
+     * Return the labels of an enumeration for a locale if they are up-to-date with a registry version.
+     * @param type Enumeration class.
+     * @param locale Locale.
+     * @param version Current registry version.
+     * @return Labels indexed by ordinal or <b>null</b> if no up-to-date table exists.
+     */
+    static String[] get(final @NonNull Class<?> type, final @NonNull Locale locale, final long version)
+    {
+        LabelTable table = TABLES.get(type).get(locale);
+
+        return table != null && table.version == version ? table.labels : null;
+    }
+
+    /**
+     * Store the labels of an enumeration for a locale.
+     * @param type Enumeration class.
+     * @param locale Locale.
+     * @param version Version of the registry the labels have been filled from.
+     * @param labels Labels indexed by ordinal.
+     */
+    static void put(final @NonNull Class<?> type, final @NonNull Locale locale, final long version, final @NonNull String[] labels)
+    {
+        TABLES.get(type).put(locale, new LabelTable(version, labels));
+    }
+}
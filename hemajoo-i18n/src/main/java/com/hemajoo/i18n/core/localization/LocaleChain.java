@@ -0,0 +1,136 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc. 2021-2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Systems Inc.
+ * and its suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.i18n.core.localization;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.*;
+
+/**
+ * A locale fallback chain lists, in precedence order, the locales whose resource bundles are used for a requested locale
+ * (ex.: <b>fr-CA</b> -&gt; <b>fr</b> -&gt; <b>en</b>): the requested locale and its parents, then the default locale
+ * and its parents.
+ * <br>
+ * Chains are computed once per requested locale and registry snapshot (see {@link BundleRegistry#getChain(Locale, Locale)}).
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+final class LocaleChain
+{
+    /**
+     * Control providing the parent locales of a locale.
+     */
+    private static final ResourceBundle.Control CONTROL = ResourceBundle.Control.getControl(ResourceBundle.Control.FORMAT_DEFAULT);
+
+    /**
+     * Locales in precedence order.
+     */
+    @Getter
+    private final List<Locale> locales;
+
+    /**
+     * Requested locale, normalized.
+     */
+    @Getter
+    private final Locale locale;
+
+    /**
+     * Language tag of the requested locale, normalized.
+     */
+    @Getter
+    private final String tag;
+
+    /**
+     * Language tags of the parent locales of the requested locale having the same language, in precedence order (ex.:
+     * <b>fr</b> for <b>fr-CA</b>, none for <b>fr</b>).
+     */
+    @Getter
+    private final List<String> parentTags;
+
+    /**
+     * Create a locale fallback chain.
+     * @param locales Locales in precedence order.
+     */
+    private LocaleChain(final @NonNull List<Locale> locales)
+    {
+        this.locales = locales;
+        this.locale = locales.get(0);
+        this.tag = locale.toLanguageTag();
+
+        List<String> parents = new ArrayList<>();
+        for (Locale parent : locales.subList(1, locales.size()))
+        {
+            if (!parent.getLanguage().equals(locale.getLanguage()))
+            {
+                break;
+            }
+            parents.add(parent.toLanguageTag());
+        }
+        this.parentTags = List.copyOf(parents);
+    }
+
+    /**
+     * Compute the fallback chain of a locale.
+     * @param requested Requested locale.
+     * @param defaultLocale Default locale.
+     * @return Locale fallback chain.
+     */
+    static LocaleChain of(final @NonNull Locale requested, final @NonNull Locale defaultLocale)
+    {
+        Set<Locale> locales = new LinkedHashSet<>();
+
+        for (Locale candidate : CONTROL.getCandidateLocales("", normalize(requested)))
+        {
+            if (!candidate.equals(Locale.ROOT))
+            {
+                locales.add(candidate);
+            }
+        }
+        for (Locale candidate : CONTROL.getCandidateLocales("", normalize(defaultLocale)))
+        {
+            if (!candidate.equals(Locale.ROOT))
+            {
+                locales.add(candidate);
+            }
+        }
+
+        if (locales.isEmpty())
+        {
+            locales.add(Locale.ROOT);
+        }
+
+        return new LocaleChain(List.copyOf(locales));
+    }
+
+    /**
+     * Normalize a locale to the parts used to select resource bundles (language, script and country).
+     * @param locale Locale.
+     * @return Normalized locale.
+     */
+    static Locale normalize(final @NonNull Locale locale)
+    {
+        if (locale.getVariant().isEmpty() && !locale.hasExtensions())
+        {
+            return locale;
+        }
+
+        return new Locale.Builder()
+                .setLanguage(locale.getLanguage())
+                .setScript(locale.getScript())
+                .setRegion(locale.getCountry())
+                .build();
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc. 2021-2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Systems Inc.
+ * and its suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.i18n.core.localization;
+
+import lombok.NonNull;
+
+import java.util.Locale;
+
+/**
+ * A locale context scoped to the current thread (ex.: the locale of the request being served), taking precedence over
+ * the locale of the {@link I18nManager} for all the services not taking a locale as parameter.
+ * <br>
+ * Contexts can be nested, closing a scope restores the locale of the enclosing one:
+ * <pre>
+ * try (LocaleContext.Scope scope = LocaleContext.open(Locale.FRENCH))
+ * {
+ *     String name = DayType.MONDAY.getName(); // Lundi
+ * }
+ * </pre>
+ * Reading the context is lock free, a thread only ever reads its own locale.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+public final class LocaleContext
+{
+    /**
+     * Locale of the current thread (<b>null</b> if no context is open).
+     */
+    private static final ThreadLocal<Locale> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Avoid direct instantiation!
+     */
+    private LocaleContext()
+    {
+        // Utility class
+    }
+
+    /**
+     * Return the locale of the current context.
+     * @return Locale or <b>null</b> if no context is open on the current thread.
+     */
+    public static Locale current()
+    {
+        return CURRENT.get();
+    }
+
+    /**
+     * Open a locale context on the current thread.
+     * @param locale Locale.
+     * @return Scope to close (on the same thread) to restore the enclosing context.
+     */
+    public static Scope open(final @NonNull Locale locale)
+    {
+        Scope scope = new Scope(CURRENT.get());
+        CURRENT.set(locale);
+
+        return scope;
+    }
+
+    /**
+     * Run an action within a locale context.
+     * @param locale Locale.
+     * @param action Action.
+     */
+    public static void run(final @NonNull Locale locale, final @NonNull Runnable action)
+    {
+        try (Scope scope = open(locale))
+        {
+            action.run();
+        }
+    }
+
+    /**
+     * Compute a value within a locale context.
+     * @param <T> Type of the value.
+     * @param <X> Type of the exception thrown by the action.
+     * @param locale Locale.
+     * @param action Action.
+     * @return Value.
+     * @throws X Thrown by the action (ex.: a {@link LocalizationException}).
+     */
+    public static <T, X extends Exception> T call(final @NonNull Locale locale, final @NonNull Action<T, X> action) throws X
+    {
+        try (Scope scope = open(locale))
+        {
+            return action.call();
+        }
+    }
+
+    /**
+     * An action computing a value within a locale context.
+     * @param <T> Type of the value.
+     * @param <X> Type of the exception thrown by the action.
+     * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+     * @version 1.0.0
+     */
+    @FunctionalInterface
+    public interface Action<T, X extends Exception>
+    {
+        /**
+         * Compute the value.
+         * @return Value.
+         * @throws X Thrown to indicate the value cannot be computed.
+         */
+        T call() throws X;
+    }
+
+    /**
+     * A scope of a locale context.
+     * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+     * @version 1.0.0
+     */
+    public static final class Scope implements AutoCloseable
+    {
+        /**
+         * Locale of the enclosing context (<b>null</b> if none).
+         */
+        private final Locale previous;
+
+        /**
+         * Create a scope.
+         * @param previous Locale of the enclosing context.
+         */
+        private Scope(final Locale previous)
+        {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close()
+        {
+            if (previous == null)
+            {
+                CURRENT.remove(); // Do not leave an entry on pooled threads
+            }
+            else
+            {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
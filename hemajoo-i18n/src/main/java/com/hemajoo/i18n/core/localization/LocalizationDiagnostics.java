@@ -0,0 +1,383 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc. 2021-2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Systems Inc.
+ * and its suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.i18n.core.localization;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Aggregated diagnostics of the localizations (k = event, resource bundle, key and locale, v = number of occurrences).
+ * <br>
+ * Fallbacks and missing keys are counted in striped counters instead of being logged one by one, so a missing
+ * translation requested thousands of times per second neither formats nor logs anything on the lookup path. A summary of
+ * the most frequent events since the previous summary is logged at most once per summary interval.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@Slf4j
+public final class LocalizationDiagnostics
+{
+    /**
+     * Default interval between two logged summaries.
+     */
+    public static final Duration DEFAULT_SUMMARY_INTERVAL = Duration.ofMinutes(1);
+
+    /**
+     * Maximum number of distinct (event, resource bundle, key, locale) entries counted.
+     */
+    private static final int MAX_ENTRIES = 4096;
+
+    /**
+     * Maximum number of entries listed in a summary.
+     */
+    private static final int SUMMARY_SIZE = 5;
+
+    /**
+     * Resource bundle name used for the events of the merged key index (not related to a given resource bundle).
+     */
+    public static final String ANY_BUNDLE = "*";
+
+    /**
+     * Localization events.
+     */
+    public enum Event
+    {
+        /**
+         * A resource bundle of another language has been used.
+         */
+        FALLBACK,
+
+        /**
+         * A resource bundle key has not been found.
+         */
+        MISSING_KEY
+    }
+
+    /**
+     * Identifies an event for a resource bundle key and a locale.
+     * @param event Event.
+     * @param bundle Resource bundle path and name (or {@link #ANY_BUNDLE}).
+     * @param key Resource bundle key.
+     * @param locale Requested locale.
+     */
+    public record Entry(Event event, String bundle, String key, Locale locale)
+    {
+        @Override
+        public String toString()
+        {
+            return String.format("%s '%s' in '%s' for '%s'", event, key, bundle, locale.toLanguageTag());
+        }
+    }
+
+    /**
+     * Counter of an entry.
+     * @param entry Entry.
+     * @param count Number of occurrences.
+     */
+    private record Counter(Entry entry, LongAdder count) {}
+
+    /**
+     * Counters (k = event, v = resource bundle, w = locale, x = key, y = counter).
+     * <br>
+     * Indexed by the parts of the entries, so recording an already counted entry finds its counter without allocating
+     * anything.
+     */
+    private final Map<Event, Map<String, Map<Locale, Map<String, Counter>>>> counters = new EnumMap<>(Event.class);
+
+    /**
+     * Number of entries counted individually.
+     */
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * Total number of occurrences per event, including the ones of the entries not counted individually.
+     */
+    private final Map<Event, LongAdder> totals = new EnumMap<>(Event.class);
+
+    /**
+     * Number of occurrences of the entries not counted individually (maximum number of entries reached).
+     */
+    private final LongAdder overflow = new LongAdder();
+
+    /**
+     * Number of occurrences already reported by the previous summaries (guarded by itself).
+     */
+    private final Map<Entry, Long> reported = new HashMap<>();
+
+    /**
+     * Total number of occurrences per event already reported by the previous summaries (guarded by {@link #reported}).
+     */
+    private final Map<Event, Long> reportedTotals = new EnumMap<>(Event.class);
+
+    /**
+     * Number of occurrences of the entries not counted individually already reported by the previous summaries
+     * (guarded by {@link #reported}).
+     */
+    private long reportedOverflow;
+
+    /**
+     * Time (in nanoseconds) from which the next summary can be logged.
+     */
+    private final AtomicLong nextSummary = new AtomicLong(System.nanoTime());
+
+    /**
+     * Interval (in nanoseconds) between two logged summaries.
+     */
+    private volatile long summaryInterval = DEFAULT_SUMMARY_INTERVAL.toNanos();
+
+    /**
+     * Create the localization diagnostics.
+     */
+    LocalizationDiagnostics()
+    {
+        for (Event event : Event.values())
+        {
+            counters.put(event, new ConcurrentHashMap<>());
+            totals.put(event, new LongAdder());
+            reportedTotals.put(event, 0L);
+        }
+    }
+
+    /**
+     * Record an event.
+     * @param event Event.
+     * @param bundle Resource bundle path and name (or {@link #ANY_BUNDLE}).
+     * @param key Resource bundle key.
+     * @param locale Requested locale.
+     */
+    void record(final @NonNull Event event, final @NonNull String bundle, final @NonNull String key, final @NonNull Locale locale)
+    {
+        totals.get(event).increment();
+
+        Map<String, Counter> keys = getCounters(event, bundle, locale);
+        Counter counter = keys.get(key);
+        if (counter == null && size.get() < MAX_ENTRIES)
+        {
+            counter = keys.computeIfAbsent(key, k -> {
+                size.incrementAndGet();
+                return new Counter(new Entry(event, bundle, k, locale), new LongAdder());
+            });
+        }
+
+        if (counter != null)
+        {
+            counter.count().increment();
+        }
+        else
+        {
+            overflow.increment();
+        }
+
+        long now = System.nanoTime();
+        long next = nextSummary.get();
+        if (now - next >= 0 && nextSummary.compareAndSet(next, now + summaryInterval))
+        {
+            logSummary();
+        }
+    }
+
+    /**
+     * Return the counters of the keys of an event for a resource bundle and a locale.
+     * @param event Event.
+     * @param bundle Resource bundle path and name (or {@link #ANY_BUNDLE}).
+     * @param locale Requested locale.
+     * @return Counters (k = key, v = counter).
+     */
+    private Map<String, Counter> getCounters(final @NonNull Event event, final @NonNull String bundle, final @NonNull Locale locale)
+    {
+        Map<Locale, Map<String, Counter>> locales = counters.get(event).get(bundle);
+        if (locales == null)
+        {
+            locales = counters.get(event).computeIfAbsent(bundle, b -> new ConcurrentHashMap<>());
+        }
+
+        Map<String, Counter> keys = locales.get(locale);
+
+        return keys != null ? keys : locales.computeIfAbsent(locale, l -> new ConcurrentHashMap<>());
+    }
+
+    /**
+     * Return all the counters.
+     * @return Counters.
+     */
+    private Stream<Counter> getCounters()
+    {
+        return counters.values().stream()
+                .flatMap(bundles -> bundles.values().stream())
+                .flatMap(locales -> locales.values().stream())
+                .flatMap(keys -> keys.values().stream());
+    }
+
+    /**
+     * Log a summary of the events recorded since the previous summary.
+     * <br>
+     * Occurrences of the entries not counted individually (maximum number of entries reached) are summarized too, so
+     * they are still reported once no new entry can be counted.
+     */
+    private void logSummary()
+    {
+        if (!LOGGER.isWarnEnabled())
+        {
+            return;
+        }
+
+        Map<Entry, Long> deltas = new HashMap<>();
+        Map<Event, Long> totalDeltas = new EnumMap<>(Event.class);
+        long overflowDelta;
+
+        synchronized (reported)
+        {
+            getCounters().forEach(counter -> {
+                long count = counter.count().sum();
+                long delta = count - reported.getOrDefault(counter.entry(), 0L);
+                if (delta > 0)
+                {
+                    deltas.put(counter.entry(), delta);
+                    reported.put(counter.entry(), count);
+                }
+            });
+
+            totals.forEach((event, counter) -> {
+                long count = counter.sum();
+                totalDeltas.put(event, count - reportedTotals.get(event));
+                reportedTotals.put(event, count);
+            });
+
+            long count = overflow.sum();
+            overflowDelta = count - reportedOverflow;
+            reportedOverflow = count;
+        }
+
+        if (deltas.isEmpty() && overflowDelta == 0)
+        {
+            return;
+        }
+
+        String top = deltas.entrySet().stream()
+                .sorted(Map.Entry.<Entry, Long>comparingByValue().reversed())
+                .limit(SUMMARY_SIZE)
+                .map(e -> String.format("%s (x%d)", e.getKey(), e.getValue()))
+                .collect(Collectors.joining(", "));
+
+        LOGGER.warn(String.format("⚠️ Localization diagnostics: '%d' fallback(s) and '%d' missing key(s) since last summary, '%d' of them not counted individually. Most frequent: %s",
+                totalDeltas.get(Event.FALLBACK),
+                totalDeltas.get(Event.MISSING_KEY),
+                overflowDelta,
+                top.isEmpty() ? "-" : top));
+    }
+
+    /**
+     * Set the interval between two logged summaries.
+     * @param interval Interval.
+     */
+    public void setSummaryInterval(final @NonNull Duration interval)
+    {
+        summaryInterval = interval.toNanos();
+    }
+
+    /**
+     * Return the interval between two logged summaries.
+     * @return Interval.
+     */
+    public Duration getSummaryInterval()
+    {
+        return Duration.ofNanos(summaryInterval);
+    }
+
+    /**
+     * Return the total number of occurrences of an event.
+     * @param event Event.
+     * @return Number of occurrences.
+     */
+    public long getCount(final @NonNull Event event)
+    {
+        return totals.get(event).sum();
+    }
+
+    /**
+     * Return the number of occurrences of an event for a resource bundle key and a locale.
+     * @param event Event.
+     * @param bundle Resource bundle path and name (or {@link #ANY_BUNDLE}).
+     * @param key Resource bundle key.
+     * @param locale Requested locale.
+     * @return Number of occurrences.
+     */
+    public long getCount(final @NonNull Event event, final @NonNull String bundle, final @NonNull String key, final @NonNull Locale locale)
+    {
+        Map<Locale, Map<String, Counter>> locales = counters.get(event).get(bundle);
+        Map<String, Counter> keys = locales != null ? locales.get(locale) : null;
+        Counter counter = keys != null ? keys.get(key) : null;
+
+        return counter != null ? counter.count().sum() : 0;
+    }
+
+    /**
+     * Return the number of occurrences of the entries not counted individually once the maximum number of entries has
+     * been reached.
+     * @return Number of occurrences.
+     */
+    public long getOverflowCount()
+    {
+        return overflow.sum();
+    }
+
+    /**
+     * Return a snapshot of the counters, sorted by decreasing number of occurrences.
+     * @return Counters (k = entry, v = number of occurrences).
+     */
+    public Map<Entry, Long> getCounts()
+    {
+        Map<Entry, Long> counts = new LinkedHashMap<>();
+
+        getCounters()
+                .map(counter -> Map.entry(counter.entry(), counter.count().sum()))
+                .sorted(Map.Entry.<Entry, Long>comparingByValue(Comparator.reverseOrder()))
+                .forEachOrdered(e -> counts.put(e.getKey(), e.getValue()));
+
+        return Collections.unmodifiableMap(counts);
+    }
+
+    /**
+     * Reset the counters.
+     */
+    public void reset()
+    {
+        synchronized (reported)
+        {
+            counters.values().forEach(Map::clear);
+            size.set(0);
+            reported.clear();
+            totals.values().forEach(LongAdder::reset);
+            reportedTotals.replaceAll((event, count) -> 0L);
+            overflow.reset();
+            reportedOverflow = 0;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc. 2021-2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Systems Inc.
+ * and its suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.i18n.core.localization;
+
+import com.hemajoo.i18n.core.annotation.I18n;
+import com.hemajoo.utility.string.ExpansionTemplate;
+import com.hemajoo.utility.string.StringExpander;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.lang.reflect.Method;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A localization plan holds the resolved <b>I18n</b> annotations and the resource bundle and key templates used to
+ * localize an element.
+ * <br>
+ * Plans of methods are resolved once per (class, method) and cached, so subsequent localizations neither use
+ * reflection nor capture the stack. Templates are compiled once per plan, so they are not scanned again on each
+ * localization.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+final class LocalizationPlan
+{
+    /**
+     * Localization methods (k = class, v = method name, w = localization method if the method is a valid one).
+     */
+    private static final ClassValue<Map<String, Optional<Method>>> METHODS = new ClassValue<>()
+    {
+        @Override
+        protected Map<String, Optional<Method>> computeValue(final Class<?> type)
+        {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    /**
+     * Method localization plans (k = instance class, v = localization method, w = localization plan).
+     */
+    private static final ClassValue<Map<Method, LocalizationPlan>> PLANS = new ClassValue<>()
+    {
+        @Override
+        protected Map<Method, LocalizationPlan> computeValue(final Class<?> type)
+        {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    /**
+     * Localization annotation of the class.
+     */
+    @Getter
+    private final I18n classAnnotation;
+
+    /**
+     * Localization annotation of the element (method or field).
+     */
+    @Getter
+    private final I18n elementAnnotation;
+
+    /**
+     * Resource bundle template (may contain variables) or <b>null</b> if none has been provided.
+     */
+    @Getter
+    private final String bundle;
+
+    /**
+     * Resource bundle key template (may contain variables) or <b>null</b> if none has been provided.
+     */
+    @Getter
+    private final String key;
+
+    /**
+     * Compiled resource bundle template or <b>null</b> if none has been provided.
+     */
+    @Getter
+    private final ExpansionTemplate bundleTemplate;
+
+    /**
+     * Compiled resource bundle key template or <b>null</b> if none has been provided.
+     */
+    @Getter
+    private final ExpansionTemplate keyTemplate;
+
+    /**
+     * Create a localization plan.
+     * <br>
+     * The bundle and key provided by the element annotation take precedence over the ones of the class annotation.
+     * @param classAnnotation Localization annotation of the class.
+     * @param elementAnnotation Localization annotation of the element.
+     */
+    LocalizationPlan(final I18n classAnnotation, final I18n elementAnnotation)
+    {
+        this.classAnnotation = classAnnotation;
+        this.elementAnnotation = elementAnnotation;
+
+        if (elementAnnotation != null && !elementAnnotation.bundle().isEmpty())
+        {
+            this.bundle = elementAnnotation.bundle();
+        }
+        else
+        {
+            this.bundle = classAnnotation != null && !classAnnotation.bundle().isEmpty() ? classAnnotation.bundle() : null;
+        }
+
+        if (elementAnnotation != null && !elementAnnotation.key().isEmpty())
+        {
+            this.key = elementAnnotation.key();
+        }
+        else
+        {
+            this.key = classAnnotation != null && !classAnnotation.key().isEmpty() ? classAnnotation.key() : null;
+        }
+
+        this.bundleTemplate = bundle != null ? StringExpander.compile(bundle) : null;
+        this.keyTemplate = key != null ? StringExpander.compile(key) : null;
+    }
+
+    /**
+     * Return the localization plan of a method for a given instance class.
+     * @param instanceClass Class of the instance being localized.
+     * @param method Localization method.
+     * @return Localization plan.
+     */
+    static LocalizationPlan of(final @NonNull Class<?> instanceClass, final @NonNull Method method)
+    {
+        return PLANS.get(instanceClass).computeIfAbsent(method, m -> new LocalizationPlan(
+                Enum.class.isAssignableFrom(instanceClass) ? instanceClass.getAnnotation(I18n.class) : null,
+                m.getAnnotation(I18n.class)));
+    }
+
+    /**
+     * Find the localization method matching a given method name in a class.
+     * <br>
+     * A localization method is a public method, without parameter or having a single parameter of type {@link Locale},
+     * either annotated with the <b>I18n</b> annotation or declared by the {@link LocalizeEnum} interface.
+     * @param type Class.
+     * @param name Method name.
+     * @return Localization method if the method is a valid one, <b>null</b> otherwise.
+     */
+    static Method findMethod(final @NonNull Class<?> type, final @NonNull String name)
+    {
+        return METHODS.get(type).computeIfAbsent(name, n -> Optional.ofNullable(resolveMethod(type, n))).orElse(null);
+    }
+
+    /**
+     * Resolve the localization method matching a given method name in a class.
+     * @param type Class.
+     * @param name Method name.
+     * @return Localization method if the method is a valid one, <b>null</b> otherwise.
+     */
+    private static Method resolveMethod(final @NonNull Class<?> type, final @NonNull String name)
+    {
+        Method method;
+
+        try
+        {
+            method = type.getMethod(name);
+        }
+        catch (NoSuchMethodException e)
+        {
+            try
+            {
+                // Maybe the method has a parameter of type Locale
+                method = type.getMethod(name, Locale.class);
+            }
+            catch (NoSuchMethodException oe)
+            {
+                return null; // Seems to be the wrong method!
+            }
+        }
+
+        if (method.isAnnotationPresent(I18n.class) || method.getDeclaringClass() == LocalizeEnum.class)
+        {
+            return method;
+        }
+
+        return null;
+    }
+}
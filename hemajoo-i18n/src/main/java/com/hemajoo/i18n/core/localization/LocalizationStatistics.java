@@ -0,0 +1,320 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc. 2021-2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Systems Inc.
+ * and its suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.i18n.core.localization;
+
+import lombok.NonNull;
+
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics of the localizations: lookup hits, misses and fallbacks per locale, and timings of the lookups, loads and
+ * reloads of the resource bundles.
+ * <br>
+ * Counters are striped and always on. Timings are only measured when a {@link Listener} is registered (ex.: a metrics
+ * binder), and lookups are sampled (1 out of {@link #DEFAULT_SAMPLING_RATE} by default), so measuring them can stay on
+ * under load.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+public final class LocalizationStatistics
+{
+    /**
+     * Default number of lookups per measured lookup.
+     */
+    public static final int DEFAULT_SAMPLING_RATE = 64;
+
+    /**
+     * Maximum number of locales having their own counters, further locales being counted with the {@link Locale#ROOT} locale.
+     */
+    private static final int MAX_LOCALES = 256;
+
+    /**
+     * Listener of the localization statistics.
+     */
+    public interface Listener
+    {
+        /**
+         * Invoked when the counters of a locale are created (ex.: first lookup for the locale).
+         * @param locale Locale.
+         * @param counters Counters of the locale.
+         */
+        void onLocale(Locale locale, Counters counters);
+
+        /**
+         * Invoked with the duration of a sampled lookup.
+         * @param locale Requested locale (or {@link Locale#ROOT} once the maximum number of locales having their own
+         * counters is reached).
+         * @param nanos Duration in nanoseconds.
+         */
+        void onLookup(Locale locale, long nanos);
+
+        /**
+         * Invoked with the duration of the loading of a resource bundle.
+         * @param path Resource bundle path and name.
+         * @param locale Locale.
+         * @param nanos Duration in nanoseconds.
+         */
+        void onLoad(String path, Locale locale, long nanos);
+
+        /**
+         * Invoked with the duration of a reload of changed resource bundles.
+         * @param count Number of reloaded resource bundles.
+         * @param nanos Duration in nanoseconds.
+         */
+        void onReload(int count, long nanos);
+    }
+
+    /**
+     * Lookup counters of a locale.
+     */
+    public static final class Counters
+    {
+        /**
+         * Locale of the counters.
+         */
+        private final Locale locale;
+
+        /**
+         * Number of lookups having found a value.
+         */
+        private final LongAdder hits = new LongAdder();
+
+        /**
+         * Number of lookups not having found a value.
+         */
+        private final LongAdder misses = new LongAdder();
+
+        /**
+         * Number of lookups served by a resource bundle of another language.
+         */
+        private final LongAdder fallbacks = new LongAdder();
+
+        /**
+         * Create the counters of a locale.
+         * @param locale Locale.
+         */
+        private Counters(final @NonNull Locale locale)
+        {
+            this.locale = locale;
+        }
+
+        /**
+         * Return the number of lookups having found a value.
+         * @return Number of hits.
+         */
+        public long getHitCount()
+        {
+            return hits.sum();
+        }
+
+        /**
+         * Return the number of lookups not having found a value.
+         * @return Number of misses.
+         */
+        public long getMissCount()
+        {
+            return misses.sum();
+        }
+
+        /**
+         * Return the number of lookups served by a resource bundle of another language.
+         * @return Number of fallbacks.
+         */
+        public long getFallbackCount()
+        {
+            return fallbacks.sum();
+        }
+    }
+
+    /**
+     * Counters (k = requested locale, v = counters).
+     */
+    private final Map<Locale, Counters> counters = new ConcurrentHashMap<>();
+
+    /**
+     * Counters shared by the locales not having their own counters (maximum number of locales reached).
+     */
+    private final Counters overflow = new Counters(Locale.ROOT);
+
+    /**
+     * Registered listener (may be <b>null</b>).
+     */
+    private volatile Listener listener;
+
+    /**
+     * Sampling mask of the lookups (sampling rate - 1).
+     */
+    private volatile int samplingMask = DEFAULT_SAMPLING_RATE - 1;
+
+    /**
+     * Create the localization statistics.
+     */
+    LocalizationStatistics()
+    {
+        // Created by the localization manager
+    }
+
+    /**
+     * Set the listener of the statistics. The counters of the already known locales are notified to it.
+     * @param listener Listener or <b>null</b> to stop measuring the timings.
+     */
+    public void setListener(final Listener listener)
+    {
+        this.listener = listener;
+
+        if (listener != null)
+        {
+            counters.forEach(listener::onLocale);
+        }
+    }
+
+    /**
+     * Set the sampling rate of the lookups.
+     * @param rate Number of lookups per measured lookup (a power of two, <b>1</b> to measure all the lookups).
+     */
+    public void setSamplingRate(final int rate)
+    {
+        if (rate < 1 || Integer.bitCount(rate) != 1)
+        {
+            throw new IllegalArgumentException(String.format("Sampling rate: '%s' must be a positive power of two!", rate));
+        }
+
+        samplingMask = rate - 1;
+    }
+
+    /**
+     * Return the sampling rate of the lookups.
+     * @return Number of lookups per measured lookup.
+     */
+    public int getSamplingRate()
+    {
+        return samplingMask + 1;
+    }
+
+    /**
+     * Return the counters of a locale.
+     * @param locale Requested locale.
+     * @return Counters or <b>null</b> if no lookup has been made for the locale.
+     */
+    public Counters getCounters(final @NonNull Locale locale)
+    {
+        return counters.get(locale);
+    }
+
+    /**
+     * Return the counters of all the locales.
+     * @return Counters (k = requested locale, v = counters).
+     */
+    public Map<Locale, Counters> getCounters()
+    {
+        return Collections.unmodifiableMap(counters);
+    }
+
+    /**
+     * Start a lookup.
+     * @return Start time in nanoseconds if the lookup is sampled, <b>0</b> otherwise.
+     */
+    long start()
+    {
+        return listener != null && (ThreadLocalRandom.current().nextInt() & samplingMask) == 0 ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Record a lookup.
+     * @param locale Requested locale.
+     * @param start Start time returned by {@link #start()}.
+     * @param hit Has a value been found?
+     * @param fallback Has a resource bundle of another language been used?
+     */
+    void lookup(final @NonNull Locale locale, final long start, final boolean hit, final boolean fallback)
+    {
+        Counters current = countersOf(locale);
+        (hit ? current.hits : current.misses).increment();
+        if (fallback)
+        {
+            current.fallbacks.increment();
+        }
+
+        Listener recorder = listener;
+        if (start != 0 && recorder != null)
+        {
+            recorder.onLookup(current.locale, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Record the loading of a resource bundle.
+     * @param path Resource bundle path and name.
+     * @param locale Locale.
+     * @param nanos Duration in nanoseconds.
+     */
+    void load(final @NonNull String path, final @NonNull Locale locale, final long nanos)
+    {
+        Listener recorder = listener;
+        if (recorder != null)
+        {
+            recorder.onLoad(path, locale, nanos);
+        }
+    }
+
+    /**
+     * Record a reload of changed resource bundles.
+     * @param count Number of reloaded resource bundles.
+     * @param nanos Duration in nanoseconds.
+     */
+    void reload(final int count, final long nanos)
+    {
+        Listener recorder = listener;
+        if (recorder != null)
+        {
+            recorder.onReload(count, nanos);
+        }
+    }
+
+    /**
+     * Return the counters of a locale, creating them if needed.
+     * @param locale Requested locale.
+     * @return Counters.
+     */
+    private Counters countersOf(final @NonNull Locale locale)
+    {
+        Counters current = counters.get(locale);
+        if (current != null)
+        {
+            return current;
+        }
+
+        // Once the maximum number of locales is reached, further locales share the overflow counters
+        Counters created = counters.size() < MAX_LOCALES ? new Counters(locale) : overflow;
+        current = counters.putIfAbsent(created.locale, created);
+        if (current != null)
+        {
+            return current;
+        }
+
+        Listener recorder = listener;
+        if (recorder != null)
+        {
+            recorder.onLocale(created.locale, created);
+        }
+
+        return created;
+    }
+}
@@ -33,7 +33,7 @@ public interface Localize extends Serializable
      */
     default void localize() throws LocalizationException
     {
-        I18nManager.getInstance().localize(this, I18nManager.getInstance().getLocale());
+        I18nManager.getInstance().localizeFields(this, I18nManager.getInstance().getLocale());
     }
 
     /**
@@ -43,7 +43,7 @@ public interface Localize extends Serializable
      */
     default void localize(final @NonNull Locale locale) throws LocalizationException
     {
-        I18nManager.getInstance().localize(this, locale);
+        I18nManager.getInstance().localizeFields(this, locale);
     }
 
     /**
@@ -34,7 +34,7 @@ public interface LocalizeEnum extends Serializable
      */
     default String getName() throws LocalizationException
     {
-        return I18nManager.getInstance().localize(this, I18nManager.getInstance().getLocale());
+        return getName(I18nManager.getInstance().getLocale());
     }
 
     /**
@@ -45,7 +45,12 @@ public interface LocalizeEnum extends Serializable
      */
     default String getName(final @NonNull Locale locale) throws LocalizationException
     {
-        return I18nManager.getInstance().localize(this, locale);
+        if (this instanceof Enum<?> value)
+        {
+            return I18nManager.getInstance().getLabel(value, locale);
+        }
+
+        return I18nManager.getInstance().localize(this, locale, "getName");
     }
 
     /**
@@ -58,4 +63,17 @@ public interface LocalizeEnum extends Serializable
     {
         return getName(language.getLocale());
     }
+
+    /**
+     * Return the localized <b>names</b> of all the values of an enumeration in one call.
+     * @param <E> Enumeration type.
+     * @param type Enumeration class.
+     * @param locale Locale to use.
+     * @return Localized names indexed by ordinal.
+     * @throws LocalizationException Thrown to indicate an error occurred while trying to process a localization.
+     */
+    static <E extends Enum<E> & LocalizeEnum> String[] labels(final @NonNull Class<E> type, final @NonNull Locale locale) throws LocalizationException
+    {
+        return I18nManager.getInstance().getLabels(type, locale);
+    }
 }
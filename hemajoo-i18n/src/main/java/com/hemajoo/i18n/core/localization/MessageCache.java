@@ -0,0 +1,420 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc. 2021-2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Systems Inc.
+ * and its suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.i18n.core.localization;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import lombok.NonNull;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A size bounded cache of the formatted messages (k = resource bundle key, locale and arguments, v = formatted message).
+ * <br>
+ * A message is only admitted in the cache once it has been requested several times (its frequency being estimated by a
+ * count-min sketch whose counters are periodically halved), so messages formatted only once (ex.: containing an
+ * identifier) do not evict the frequently formatted ones.
+ * <br>
+ * The cache is invalidated each time the version of the registered resource bundles changes (ex.: a resource bundle is
+ * reloaded).
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+public final class MessageCache
+{
+    /**
+     * Default maximum number of cached messages.
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 10_000;
+
+    /**
+     * Number of requests of a message before it is admitted in the cache.
+     */
+    private static final int ADMISSION_FREQUENCY = 2;
+
+    /**
+     * Cached messages.
+     */
+    private final Cache<Key, String> cache;
+
+    /**
+     * Frequency sketch of the requested messages.
+     */
+    private final FrequencySketch sketch;
+
+    /**
+     * Number of messages not admitted in the cache.
+     */
+    private final LongAdder rejections = new LongAdder();
+
+    /**
+     * Version of the registered resource bundles the cached messages have been formatted with.
+     */
+    private volatile long version;
+
+    /**
+     * Create a message cache.
+     * @param maximumSize Maximum number of cached messages.
+     */
+    MessageCache(final int maximumSize)
+    {
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        this.sketch = new FrequencySketch(maximumSize);
+    }
+
+    /**
+     * Create the key of a message.
+     * @param key Resource bundle key.
+     * @param locale Locale.
+     * @param arguments Message arguments.
+     * @return Message key or <b>null</b> if the message cannot be cached (an argument is not an immutable value).
+     */
+    static Key keyOf(final @NonNull String key, final @NonNull Locale locale, final Object[] arguments)
+    {
+        for (Object argument : arguments)
+        {
+            if (!isValue(argument))
+            {
+                return null;
+            }
+        }
+
+        return new Key(key, locale, arguments.clone());
+    }
+
+    /**
+     * Return a cached message.
+     * @param key Message key (may be <b>null</b>).
+     * @param version Version of the registered resource bundles.
+     * @return Cached message or <b>null</b> if not cached.
+     */
+    String get(final Key key, final long version)
+    {
+        if (key == null || !validate(version))
+        {
+            return null;
+        }
+
+        return cache.getIfPresent(key);
+    }
+
+    /**
+     * Offer a formatted message to the cache.
+     * @param key Message key (may be <b>null</b>).
+     * @param message Formatted message.
+     * @param version Version of the registered resource bundles the message has been formatted with.
+     */
+    void offer(final Key key, final @NonNull String message, final long version)
+    {
+        if (key == null || version != this.version)
+        {
+            return;
+        }
+
+        if (sketch.increment(key.hashCode()) >= ADMISSION_FREQUENCY)
+        {
+            cache.put(key, message);
+        }
+        else
+        {
+            rejections.increment();
+        }
+    }
+
+    /**
+     * Check the cached messages have been formatted with a given version of the registered resource bundles,
+     * invalidating them if the version is more recent.
+     * @param version Version of the registered resource bundles.
+     * @return True if the cache can be used for this version, false otherwise (older version).
+     */
+    private boolean validate(final long version)
+    {
+        if (version == this.version)
+        {
+            return true;
+        }
+
+        synchronized (cache)
+        {
+            if (version > this.version)
+            {
+                cache.invalidateAll();
+                this.version = version;
+            }
+
+            return version == this.version;
+        }
+    }
+
+    /**
+     * Invalidate all the cached messages.
+     */
+    public void invalidateAll()
+    {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Return the number of cached messages.
+     * @return Number of messages.
+     */
+    public long getSize()
+    {
+        return cache.size();
+    }
+
+    /**
+     * Return the number of requests served by the cache.
+     * @return Number of hits.
+     */
+    public long getHitCount()
+    {
+        return cache.stats().hitCount();
+    }
+
+    /**
+     * Return the number of requests not served by the cache.
+     * @return Number of misses.
+     */
+    public long getMissCount()
+    {
+        return cache.stats().missCount();
+    }
+
+    /**
+     * Return the number of messages evicted from the cache because of its size.
+     * @return Number of evictions.
+     */
+    public long getEvictionCount()
+    {
+        return cache.stats().evictionCount();
+    }
+
+    /**
+     * Return the number of formatted messages not admitted in the cache (not requested frequently enough).
+     * @return Number of rejections.
+     */
+    public long getRejectionCount()
+    {
+        return rejections.sum();
+    }
+
+    /**
+     * Return if an argument is an immutable value, so a message formatted with it can be cached.
+     * @param argument Argument.
+     * @return True if the argument is an immutable value, false otherwise.
+     */
+    private static boolean isValue(final Object argument)
+    {
+        return argument == null
+                || argument instanceof String
+                || argument instanceof Boolean
+                || argument instanceof Character
+                || argument instanceof Integer
+                || argument instanceof Long
+                || argument instanceof Short
+                || argument instanceof Byte
+                || argument instanceof Double
+                || argument instanceof Float
+                || argument instanceof BigInteger
+                || argument instanceof BigDecimal
+                || argument instanceof Enum<?>
+                || argument instanceof Locale
+                || argument instanceof UUID
+                || argument.getClass().getPackageName().equals("java.time");
+    }
+
+    /**
+     * Key of a formatted message.
+     * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+     * @version 1.0.0
+     */
+    static final class Key
+    {
+        /**
+         * Resource bundle key.
+         */
+        private final String key;
+
+        /**
+         * Locale.
+         */
+        private final Locale locale;
+
+        /**
+         * Message arguments.
+         */
+        private final Object[] arguments;
+
+        /**
+         * Hash code (computed once).
+         */
+        private final int hash;
+
+        /**
+         * Create a message key.
+         * @param key Resource bundle key.
+         * @param locale Locale.
+         * @param arguments Message arguments.
+         */
+        private Key(final String key, final Locale locale, final Object[] arguments)
+        {
+            this.key = key;
+            this.locale = locale;
+            this.arguments = arguments;
+            this.hash = 31 * (31 * key.hashCode() + locale.hashCode()) + Arrays.hashCode(arguments);
+        }
+
+        @Override
+        public boolean equals(final Object other)
+        {
+            if (this == other)
+            {
+                return true;
+            }
+
+            return other instanceof Key that
+                    && hash == that.hash
+                    && key.equals(that.key)
+                    && locale.equals(that.locale)
+                    && Arrays.equals(arguments, that.arguments);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hash;
+        }
+
+        @Override
+        public String toString()
+        {
+            return key + Objects.toString(Arrays.asList(arguments)) + "@" + locale;
+        }
+    }
+
+    /**
+     * A count-min sketch estimating the frequency of the requested messages with 4 bits counters.
+     * <br>
+     * Counters are halved once the number of increments reaches 10 times the size of the cache, so the frequencies
+     * reflect the recent requests.
+     * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+     * @version 1.0.0
+     */
+    private static final class FrequencySketch
+    {
+        /**
+         * Number of counters per message.
+         */
+        private static final int DEPTH = 4;
+
+        /**
+         * Maximum value of a counter.
+         */
+        private static final int MAXIMUM_FREQUENCY = 15;
+
+        /**
+         * Seeds of the hash functions (one per row).
+         */
+        private static final int[] SEEDS = { 0x97cb3127, 0xa6a2cbb3, 0xc2b2ae35, 0x85ebca6b };
+
+        /**
+         * Counters (one row per hash function).
+         */
+        private final byte[] counters;
+
+        /**
+         * Mask of the index in a row.
+         */
+        private final int mask;
+
+        /**
+         * Number of increments before the counters are halved.
+         */
+        private final int sampleSize;
+
+        /**
+         * Number of increments since the counters were last halved.
+         */
+        private int increments;
+
+        /**
+         * Create a frequency sketch.
+         * @param maximumSize Maximum number of cached messages.
+         */
+        private FrequencySketch(final int maximumSize)
+        {
+            int width = Integer.highestOneBit(Math.max(maximumSize, 16) - 1) << 1;
+
+            this.counters = new byte[DEPTH * width];
+            this.mask = width - 1;
+            this.sampleSize = 10 * Math.max(maximumSize, 16);
+        }
+
+        /**
+         * Increment the frequency of a message.
+         * @param hash Hash code of the message key.
+         * @return Estimated frequency of the message (including this request).
+         */
+        private synchronized int increment(final int hash)
+        {
+            int frequency = MAXIMUM_FREQUENCY;
+
+            for (int i = 0; i < DEPTH; i++)
+            {
+                int index = index(hash, i);
+                if (counters[index] < MAXIMUM_FREQUENCY)
+                {
+                    counters[index]++;
+                }
+                frequency = Math.min(frequency, counters[index]);
+            }
+
+            if (++increments >= sampleSize)
+            {
+                for (int i = 0; i < counters.length; i++)
+                {
+                    counters[i] >>= 1;
+                }
+                increments = 0;
+            }
+
+            return frequency;
+        }
+
+        /**
+         * Return the index of the counter of a message in a row.
+         * @param hash Hash code of the message key.
+         * @param row Row.
+         * @return Index of the counter.
+         */
+        private int index(final int hash, final int row)
+        {
+            int h = (hash ^ SEEDS[row]) * 0x9e3779b9;
+            h ^= h >>> 16;
+
+            return row * (mask + 1) + (h & mask);
+        }
+    }
+}
@@ -0,0 +1,677 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc. 2021-2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Systems Inc.
+ * and its suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.i18n.core.localization;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.text.*;
+import java.util.*;
+
+/**
+ * A message template is a message pattern parsed once, for a locale, into its literal and argument segments.
+ * <br>
+ * The pattern syntax is the one of {@link MessageFormat} (<b>{0}</b>, <b>{1,number,integer}</b>, <b>{2,date,short}</b>,
+ * <b>{3,choice,0#no file|1#one file|1&lt;{3} files}</b>, quoting with <b>'</b>) plus the <b>${name}</b> variables of
+ * the resource bundle keys. Rendering a template appends directly to a {@link StringBuilder} or an {@link Appendable}
+ * and produces the same output as {@link MessageFormat#format(Object)}.
+ * <br>
+ * Templates are immutable and can be shared between threads.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+public final class MessageTemplate
+{
+    /**
+     * Message pattern.
+     */
+    @Getter
+    private final String pattern;
+
+    /**
+     * Locale.
+     */
+    @Getter
+    private final Locale locale;
+
+    /**
+     * Template segments.
+     */
+    private final Segment[] segments;
+
+    /**
+     * Create a message template.
+     * @param pattern Message pattern.
+     * @param locale Locale.
+     * @param segments Template segments.
+     */
+    private MessageTemplate(final @NonNull String pattern, final @NonNull Locale locale, final @NonNull Segment[] segments)
+    {
+        this.pattern = pattern;
+        this.locale = locale;
+        this.segments = segments;
+    }
+
+    /**
+     * Compile a message pattern.
+     * @param pattern Message pattern.
+     * @param locale Locale used to format the arguments.
+     * @return Message template.
+     * @throws IllegalArgumentException Thrown to indicate the pattern is invalid.
+     */
+    public static MessageTemplate compile(final @NonNull String pattern, final @NonNull Locale locale)
+    {
+        return new MessageTemplate(pattern, locale, new Parser(pattern, locale).parse());
+    }
+
+    /**
+     * Format the message.
+     * @param arguments Message arguments.
+     * @return Formatted message.
+     */
+    public String format(final Object... arguments)
+    {
+        StringBuilder builder = new StringBuilder(pattern.length() + 16);
+        render(builder, arguments);
+
+        return builder.toString();
+    }
+
+    /**
+     * Render the message.
+     * @param builder String builder to append the message to.
+     * @param arguments Message arguments.
+     */
+    public void render(final @NonNull StringBuilder builder, final Object... arguments)
+    {
+        render(builder, Collections.emptyMap(), arguments);
+    }
+
+    /**
+     * Render the message.
+     * @param builder String builder to append the message to.
+     * @param variables Values of the <b>${name}</b> variables (k = variable name, v = value).
+     * @param arguments Message arguments.
+     */
+    public void render(final @NonNull StringBuilder builder, final @NonNull Map<String, ?> variables, final Object... arguments)
+    {
+        try
+        {
+            render((Appendable) builder, variables, arguments);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e); // Never raised by a string builder
+        }
+    }
+
+    /**
+     * Render the message.
+     * @param output Output to append the message to.
+     * @param arguments Message arguments.
+     * @throws IOException Thrown to indicate an error occurred while appending to the output.
+     */
+    public void render(final @NonNull Appendable output, final Object... arguments) throws IOException
+    {
+        render(output, Collections.emptyMap(), arguments);
+    }
+
+    /**
+     * Render the message.
+     * <br>
+     * As with {@link MessageFormat}, a missing argument is rendered as its placeholder (ex.: <b>{2}</b>). Similarly, a
+     * missing variable is rendered as <b>${name}</b>.
+     * @param output Output to append the message to.
+     * @param variables Values of the <b>${name}</b> variables (k = variable name, v = value).
+     * @param arguments Message arguments.
+     * @throws IOException Thrown to indicate an error occurred while appending to the output.
+     */
+    public void render(final @NonNull Appendable output, final @NonNull Map<String, ?> variables, final Object... arguments) throws IOException
+    {
+        Object[] values = arguments != null ? arguments : new Object[0];
+
+        for (Segment segment : segments)
+        {
+            segment.render(output, variables, values);
+        }
+    }
+
+    @Override
+    public String toString()
+    {
+        return pattern;
+    }
+
+    /**
+     * A segment of a message template.
+     */
+    private interface Segment
+    {
+        /**
+         * Render the segment.
+         * @param output Output.
+         * @param variables Variables.
+         * @param arguments Arguments.
+         * @throws IOException Thrown to indicate an error occurred while appending to the output.
+         */
+        void render(Appendable output, Map<String, ?> variables, Object[] arguments) throws IOException;
+    }
+
+    /**
+     * A literal text.
+     * @param text Text.
+     */
+    private record Literal(String text) implements Segment
+    {
+        @Override
+        public void render(final Appendable output, final Map<String, ?> variables, final Object[] arguments) throws IOException
+        {
+            output.append(text);
+        }
+    }
+
+    /**
+     * A <b>${name}</b> variable.
+     * @param name Variable name.
+     */
+    private record Variable(String name) implements Segment
+    {
+        @Override
+        public void render(final Appendable output, final Map<String, ?> variables, final Object[] arguments) throws IOException
+        {
+            Object value = variables.get(name);
+            if (value == null && !variables.containsKey(name))
+            {
+                output.append("${").append(name).append('}');
+            }
+            else
+            {
+                output.append(String.valueOf(value));
+            }
+        }
+    }
+
+    /**
+     * An argument without format (<b>{0}</b>), formatted according to its type.
+     * @param index Argument index.
+     * @param numbers Number formatting of the locale.
+     * @param locale Locale.
+     */
+    private record Argument(int index, Numbers numbers, Locale locale) implements Segment
+    {
+        @Override
+        public void render(final Appendable output, final Map<String, ?> variables, final Object[] arguments) throws IOException
+        {
+            if (index >= arguments.length)
+            {
+                output.append('{').append(Integer.toString(index)).append('}');
+                return;
+            }
+
+            Object argument = arguments[index];
+            if (argument instanceof String text)
+            {
+                output.append(text);
+            }
+            else if (argument instanceof Number number)
+            {
+                numbers.render(output, number);
+            }
+            else if (argument instanceof Date)
+            {
+                output.append(DateFormat.getDateTimeInstance(DateFormat.SHORT, DateFormat.SHORT, locale).format(argument));
+            }
+            else
+            {
+                output.append(String.valueOf(argument));
+            }
+        }
+    }
+
+    /**
+     * An argument formatted as a number (<b>{0,number}</b> or <b>{0,number,integer}</b>).
+     * @param index Argument index.
+     * @param numbers Number formatting.
+     */
+    private record NumberArgument(int index, Numbers numbers) implements Segment
+    {
+        @Override
+        public void render(final Appendable output, final Map<String, ?> variables, final Object[] arguments) throws IOException
+        {
+            if (index >= arguments.length)
+            {
+                output.append('{').append(Integer.toString(index)).append('}');
+            }
+            else if (arguments[index] == null)
+            {
+                output.append("null");
+            }
+            else
+            {
+                numbers.render(output, arguments[index]);
+            }
+        }
+    }
+
+    /**
+     * An argument formatted with a format (ex.: <b>{0,date,short}</b>).
+     * @param index Argument index.
+     * @param format Format prototype (cloned for each rendering, formats are not thread safe).
+     */
+    private record FormatArgument(int index, Format format) implements Segment
+    {
+        @Override
+        public void render(final Appendable output, final Map<String, ?> variables, final Object[] arguments) throws IOException
+        {
+            if (index >= arguments.length)
+            {
+                output.append('{').append(Integer.toString(index)).append('}');
+            }
+            else if (arguments[index] == null)
+            {
+                output.append("null");
+            }
+            else
+            {
+                output.append(((Format) format.clone()).format(arguments[index]));
+            }
+        }
+    }
+
+    /**
+     * An argument selecting a sub message (<b>{0,choice,0#no file|1#one file|1&lt;{0} files}</b>).
+     * @param index Argument index.
+     * @param limits Choice limits (ascending).
+     * @param choices Sub messages (one per limit).
+     */
+    private record ChoiceArgument(int index, double[] limits, MessageTemplate[] choices) implements Segment
+    {
+        @Override
+        public void render(final Appendable output, final Map<String, ?> variables, final Object[] arguments) throws IOException
+        {
+            if (index >= arguments.length)
+            {
+                output.append('{').append(Integer.toString(index)).append('}');
+                return;
+            }
+
+            if (arguments[index] == null)
+            {
+                output.append("null");
+                return;
+            }
+
+            if (!(arguments[index] instanceof Number number))
+            {
+                throw new IllegalArgumentException("Cannot format given Object as a Number");
+            }
+
+            // Same selection as ChoiceFormat: the last limit lower or equal to the number
+            double value = number.doubleValue();
+            int choice = 0;
+            while (choice < limits.length && value >= limits[choice])
+            {
+                choice++;
+            }
+
+            choices[Math.max(choice - 1, 0)].render(output, variables, arguments);
+        }
+    }
+
+    /**
+     * Number formatting of a locale, writing the integral numbers directly to the output.
+     */
+    private static final class Numbers
+    {
+        /**
+         * Number format prototype (cloned for each rendering of a non integral number).
+         */
+        private final NumberFormat format;
+
+        /**
+         * Are the integral numbers written directly?
+         */
+        private final boolean direct;
+
+        /**
+         * Grouping size (0 if no grouping).
+         */
+        private final int grouping;
+
+        /**
+         * Grouping separator.
+         */
+        private final char separator;
+
+        /**
+         * Zero digit.
+         */
+        private final char zero;
+
+        /**
+         * Negative prefix.
+         */
+        private final String negative;
+
+        /**
+         * Create the number formatting of a locale.
+         * @param format Number format.
+         */
+        private Numbers(final @NonNull NumberFormat format)
+        {
+            this.format = format;
+
+            if (format instanceof DecimalFormat decimal
+                    && decimal.getPositivePrefix().isEmpty()
+                    && decimal.getPositiveSuffix().isEmpty()
+                    && decimal.getNegativeSuffix().isEmpty()
+                    && decimal.getMinimumIntegerDigits() <= 1
+                    && decimal.getMultiplier() == 1)
+            {
+                DecimalFormatSymbols symbols = decimal.getDecimalFormatSymbols();
+                this.direct = true;
+                this.grouping = decimal.isGroupingUsed() ? decimal.getGroupingSize() : 0;
+                this.separator = symbols.getGroupingSeparator();
+                this.zero = symbols.getZeroDigit();
+                this.negative = decimal.getNegativePrefix();
+            }
+            else
+            {
+                this.direct = false;
+                this.grouping = 0;
+                this.separator = 0;
+                this.zero = '0';
+                this.negative = "-";
+            }
+        }
+
+        /**
+         * Render a number.
+         * @param output Output.
+         * @param number Number.
+         * @throws IOException Thrown to indicate an error occurred while appending to the output.
+         */
+        private void render(final Appendable output, final Object number) throws IOException
+        {
+            if (direct && (number instanceof Integer || number instanceof Long || number instanceof Short || number instanceof Byte) && ((Number) number).longValue() != Long.MIN_VALUE)
+            {
+                long value = ((Number) number).longValue();
+                if (value < 0)
+                {
+                    output.append(negative);
+                    value = -value;
+                }
+
+                int digits = 1;
+                long divisor = 1;
+                while (divisor <= value / 10)
+                {
+                    divisor *= 10;
+                    digits++;
+                }
+
+                for (; digits > 0; digits--, divisor /= 10)
+                {
+                    output.append((char) (zero + (value / divisor) % 10));
+                    if (grouping > 0 && digits > 1 && (digits - 1) % grouping == 0)
+                    {
+                        output.append(separator);
+                    }
+                }
+            }
+            else
+            {
+                output.append(((NumberFormat) format.clone()).format(number));
+            }
+        }
+    }
+
+    /**
+     * Parser of the message patterns, following the rules of {@link MessageFormat#applyPattern(String)}.
+     */
+    private static final class Parser
+    {
+        /**
+         * Message pattern.
+         */
+        private final String pattern;
+
+        /**
+         * Locale.
+         */
+        private final Locale locale;
+
+        /**
+         * Parsed segments.
+         */
+        private final List<Segment> segments = new ArrayList<>();
+
+        /**
+         * Literal text being parsed.
+         */
+        private final StringBuilder literal = new StringBuilder();
+
+        /**
+         * Create a parser.
+         * @param pattern Message pattern.
+         * @param locale Locale.
+         */
+        private Parser(final String pattern, final Locale locale)
+        {
+            this.pattern = pattern;
+            this.locale = locale;
+        }
+
+        /**
+         * Parse the pattern.
+         * @return Segments.
+         */
+        private Segment[] parse()
+        {
+            boolean quoted = false;
+            int i = 0;
+
+            while (i < pattern.length())
+            {
+                char c = pattern.charAt(i);
+                if (c == '\'')
+                {
+                    if (i + 1 < pattern.length() && pattern.charAt(i + 1) == '\'')
+                    {
+                        literal.append('\'');
+                        i += 2;
+                    }
+                    else
+                    {
+                        quoted = !quoted;
+                        i++;
+                    }
+                }
+                else if (quoted)
+                {
+                    literal.append(c);
+                    i++;
+                }
+                else if (c == '{')
+                {
+                    i = argument(i + 1);
+                }
+                else if (c == '$' && i + 1 < pattern.length() && pattern.charAt(i + 1) == '{' && pattern.indexOf('}', i + 2) > 0)
+                {
+                    int end = pattern.indexOf('}', i + 2);
+                    flush();
+                    segments.add(new Variable(pattern.substring(i + 2, end)));
+                    i = end + 1;
+                }
+                else
+                {
+                    literal.append(c);
+                    i++;
+                }
+            }
+
+            flush();
+
+            return segments.toArray(new Segment[0]);
+        }
+
+        /**
+         * Add the literal text being parsed as a segment.
+         */
+        private void flush()
+        {
+            if (literal.length() > 0)
+            {
+                segments.add(new Literal(literal.toString()));
+                literal.setLength(0);
+            }
+        }
+
+        /**
+         * Parse an argument.
+         * @param start Index following the opening brace.
+         * @return Index following the closing brace.
+         */
+        private int argument(final int start)
+        {
+            String[] parts = { "", "", "" };
+            StringBuilder part = new StringBuilder();
+            int current = 0;
+            int depth = 0;
+            boolean quoted = false;
+
+            for (int i = start; i < pattern.length(); i++)
+            {
+                char c = pattern.charAt(i);
+                if (current < 2)
+                {
+                    if (c == ',')
+                    {
+                        parts[current] = current == 0 ? part.toString() : part.toString().trim();
+                        current++;
+                        part.setLength(0);
+                        continue;
+                    }
+                    if (c == '}')
+                    {
+                        parts[current] = current == 0 ? part.toString() : part.toString().trim();
+                        flush();
+                        segments.add(segment(parts));
+                        return i + 1;
+                    }
+                    part.append(c);
+                    continue;
+                }
+
+                // Style: kept as is (quotes included), braces are balanced
+                if (c == '\'')
+                {
+                    quoted = !quoted;
+                }
+                else if (!quoted && c == '{')
+                {
+                    depth++;
+                }
+                else if (!quoted && c == '}')
+                {
+                    if (depth == 0)
+                    {
+                        parts[2] = part.toString();
+                        flush();
+                        segments.add(segment(parts));
+                        return i + 1;
+                    }
+                    depth--;
+                }
+                part.append(c);
+            }
+
+            throw new IllegalArgumentException("Unmatched braces in the pattern.");
+        }
+
+        /**
+         * Create the segment of an argument.
+         * @param parts Argument index, format type and format style.
+         * @return Segment.
+         */
+        private Segment segment(final String[] parts)
+        {
+            int index;
+            try
+            {
+                index = Integer.parseInt(parts[0]);
+            }
+            catch (NumberFormatException e)
+            {
+                throw new IllegalArgumentException("can't parse argument number: " + parts[0], e);
+            }
+            if (index < 0)
+            {
+                throw new IllegalArgumentException("negative argument number: " + index);
+            }
+
+            String type = parts[1].toLowerCase(Locale.ROOT);
+            String style = parts[2].trim();
+
+            switch (type)
+            {
+                case "":
+                    return new Argument(index, new Numbers(NumberFormat.getInstance(locale)), locale);
+
+                case "number":
+                    switch (style.toLowerCase(Locale.ROOT))
+                    {
+                        case "":
+                            return new NumberArgument(index, new Numbers(NumberFormat.getInstance(locale)));
+
+                        case "integer":
+                            return new NumberArgument(index, new Numbers(NumberFormat.getIntegerInstance(locale)));
+
+                        default:
+                            return new FormatArgument(index, format(parts));
+                    }
+
+                case "choice":
+                    ChoiceFormat choice = new ChoiceFormat(parts[2]);
+                    Object[] formats = choice.getFormats();
+                    MessageTemplate[] choices = new MessageTemplate[formats.length];
+                    for (int i = 0; i < formats.length; i++)
+                    {
+                        String text = (String) formats[i];
+                        // As MessageFormat, a choice containing an argument is itself a message pattern
+                        choices[i] = text.indexOf('{') >= 0
+                                ? compile(text, locale)
+                                : new MessageTemplate(text, locale, new Segment[] { new Literal(text) });
+                    }
+                    return new ChoiceArgument(index, choice.getLimits(), choices);
+
+                default:
+                    return new FormatArgument(index, format(parts));
+            }
+        }
+
+        /**
+         * Create the format of an argument, as {@link MessageFormat} would.
+         * @param parts Argument index, format type and format style.
+         * @return Format.
+         */
+        private Format format(final String[] parts)
+        {
+            return new MessageFormat("{0," + parts[1] + "," + parts[2] + "}", locale).getFormats()[0];
+        }
+    }
+}
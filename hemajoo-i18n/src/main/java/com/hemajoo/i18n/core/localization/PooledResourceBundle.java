@@ -0,0 +1,107 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc. 2021-2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Systems Inc.
+ * and its suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.i18n.core.localization;
+
+import com.hemajoo.i18n.core.ValuePool;
+import lombok.NonNull;
+
+import java.util.*;
+
+/**
+ * A resource bundle holding a copy of the keys and values of another resource bundle (including the ones inherited from
+ * its parents), all of them being canonical strings of the {@link ValuePool}.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+final class PooledResourceBundle extends ResourceBundle
+{
+    /**
+     * Resource bundle base name.
+     */
+    private final String baseName;
+
+    /**
+     * Resource bundle locale.
+     */
+    private final Locale locale;
+
+    /**
+     * Values (k = key, v = value).
+     */
+    private final Map<String, Object> values;
+
+    /**
+     * Create a pooled resource bundle.
+     * @param baseName Resource bundle base name.
+     * @param locale Resource bundle locale.
+     * @param values Values (k = key, v = value).
+     */
+    private PooledResourceBundle(final String baseName, final @NonNull Locale locale, final @NonNull Map<String, Object> values)
+    {
+        this.baseName = baseName;
+        this.locale = locale;
+        this.values = values;
+    }
+
+    /**
+     * Create a pooled copy of a resource bundle.
+     * @param bundle Resource bundle.
+     * @param pool Value pool.
+     * @return Pooled resource bundle.
+     */
+    static PooledResourceBundle of(final @NonNull ResourceBundle bundle, final @NonNull ValuePool pool)
+    {
+        Set<String> keys = bundle.keySet();
+        Map<String, Object> values = new HashMap<>(keys.size() * 4 / 3 + 1);
+
+        for (String key : keys)
+        {
+            Object value = bundle.getObject(key);
+            values.put(pool.intern(key), value instanceof String text ? pool.intern(text) : value);
+        }
+
+        return new PooledResourceBundle(bundle.getBaseBundleName(), bundle.getLocale(), Collections.unmodifiableMap(values));
+    }
+
+    @Override
+    public Locale getLocale()
+    {
+        return locale;
+    }
+
+    @Override
+    public String getBaseBundleName()
+    {
+        return baseName;
+    }
+
+    @Override
+    protected Object handleGetObject(final @NonNull String key)
+    {
+        return values.get(key);
+    }
+
+    @Override
+    protected Set<String> handleKeySet()
+    {
+        return values.keySet();
+    }
+
+    @Override
+    public Enumeration<String> getKeys()
+    {
+        return Collections.enumeration(values.keySet());
+    }
+}
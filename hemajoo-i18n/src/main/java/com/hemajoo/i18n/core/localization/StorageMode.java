@@ -15,24 +15,20 @@
 package com.hemajoo.i18n.core.localization;
 
 /**
- * Enumerate the several <b>localization invocation</b> type values.
+ * Enumeration of the storage modes of the resource bundles registered in the {@link I18nManager}.
  * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
  * @version 1.0.0
  */
-public enum LocalizationInvocationType
+public enum StorageMode
 {
     /**
-     * Localization invocation is unknown.
+     * Keys and values are stored on the heap, as canonical strings of the shared value pool.
      */
-    UNKNOWN,
+    HEAP,
 
     /**
-     * Localization invocation has been done through a method.
+     * Keys and values are stored as UTF-8 bytes in direct (off-heap) buffers with a compact on-heap index, values are
+     * decoded on access. Suited for very large resource bundles.
      */
-    METHOD,
-
-    /**
-     * Localization invocation has been done through a field.
-     */
-    FIELD
+    OFF_HEAP
 }
@@ -307,7 +307,7 @@ public enum LanguageType
     @I18n(bundle = LanguageType.RESOURCE_BUNDLE_FILE, key = "language.${this}.name")
     public String getName() throws LocalizationException
     {
-        return I18nManager.getInstance().localize(this, I18nManager.getInstance().getLocale());
+        return getName(I18nManager.getInstance().getLocale());
     }
 
     /**
@@ -319,7 +319,7 @@ public enum LanguageType
     @I18n(bundle = LanguageType.RESOURCE_BUNDLE_FILE, key = "language.${this}.name")
     public String getName(final @NonNull Locale locale) throws LocalizationException
     {
-        return I18nManager.getInstance().localize(this, locale);
+        return I18nManager.getInstance().getLabel(this, locale);
     }
 
     /**
@@ -330,7 +330,7 @@ public enum LanguageType
     @I18n(bundle = LanguageType.RESOURCE_BUNDLE_FILE, key = "language.${this}.definition")
     public String getDescription() throws LocalizationException
     {
-        return I18nManager.getInstance().localize(this, I18nManager.getInstance().getLocale());
+        return I18nManager.getInstance().localize(this, I18nManager.getInstance().getLocale(), "getDescription");
     }
 
     /**
@@ -342,7 +342,7 @@ public enum LanguageType
     @I18n(bundle = LanguageType.RESOURCE_BUNDLE_FILE, key = "language.${this}.definition")
     public String getDescription(final @NonNull Locale locale) throws LocalizationException
     {
-        return I18nManager.getInstance().localize(this, locale);
+        return I18nManager.getInstance().localize(this, locale, "getDescription");
     }
 
     /**
@@ -374,7 +374,7 @@ public enum LanguageType
     @I18n(bundle = LanguageType.RESOURCE_BUNDLE_FILE, key = "language.term.definition")
     public String getDefinition() throws LocalizationException
     {
-        return I18nManager.getInstance().localize(this, I18nManager.getInstance().getLocale());
+        return I18nManager.getInstance().localize(this, I18nManager.getInstance().getLocale(), "getDefinition");
     }
 
     /**
@@ -386,6 +386,6 @@ public enum LanguageType
     @I18n(bundle = LanguageType.RESOURCE_BUNDLE_FILE, key = "language.term.definition")
     public String getDefinition(final @NonNull Locale locale) throws LocalizationException
     {
-        return I18nManager.getInstance().localize(this, locale);
+        return I18nManager.getInstance().localize(this, locale, "getDefinition");
     }
 }
@@ -0,0 +1,233 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc. 2021-2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Systems Inc.
+ * and its suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.i18n.core.metrics;
+
+import com.hemajoo.i18n.core.ValuePool;
+import com.hemajoo.i18n.core.localization.I18nManager;
+import com.hemajoo.i18n.core.localization.LocalizationDiagnostics;
+import com.hemajoo.i18n.core.localization.LocalizationStatistics;
+import com.hemajoo.i18n.core.localization.MessageCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.NonNull;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A <b>Micrometer</b> binder publishing the metrics of the localization engine.
+ * <br><br>
+ * Published metrics:
+ * <ul>
+ *     <li><b>i18n.lookups</b>: number of lookups per locale and result (<b>hit</b>, <b>miss</b> or <b>fallback</b>)</li>
+ *     <li><b>i18n.lookup.duration</b>: sampled lookup latency histogram per locale</li>
+ *     <li><b>i18n.bundle.load</b>: loading time of the resource bundles</li>
+ *     <li><b>i18n.bundle.reload</b>: reloading time of the changed resource bundles</li>
+ *     <li><b>i18n.bundles</b> and <b>i18n.keys</b>: number of registered resource bundles and keys per locale</li>
+ *     <li><b>i18n.message.cache.*</b>: size, hits, misses and evictions of the formatted message cache</li>
+ *     <li><b>i18n.events</b>: number of fallbacks and missing keys counted by the diagnostics</li>
+ *     <li><b>i18n.value.pool.saved</b>: memory saved by the deduplication of the resource bundle values</li>
+ * </ul>
+ * Counters and gauges read the engine statistics when the registry is scraped. The lookup latency is only measured for
+ * one lookup out of the sampling rate of the {@link LocalizationStatistics}, so the binder can stay on under load.
+ * <br><br>
+ * Micrometer is an optional dependency of this module, this class must only be used when it is on the class path.
+ * Localizations made through {@link com.hemajoo.i18n.core.localization.InstantLocalization} are published as well,
+ * as they are delegated to the localization manager.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+public final class LocalizationMetrics implements MeterBinder
+{
+    /**
+     * Localization manager.
+     */
+    private final I18nManager manager;
+
+    /**
+     * Create a binder for the localization manager.
+     */
+    public LocalizationMetrics()
+    {
+        this(I18nManager.getInstance());
+    }
+
+    /**
+     * Create a binder for a localization manager.
+     * @param manager Localization manager.
+     */
+    public LocalizationMetrics(final @NonNull I18nManager manager)
+    {
+        this.manager = manager;
+    }
+
+    @Override
+    public void bindTo(final @NonNull MeterRegistry registry)
+    {
+        MessageCache cache = manager.getMessageCache();
+        Gauge.builder("i18n.message.cache.size", cache, MessageCache::getSize)
+                .description("Number of cached formatted messages")
+                .register(registry);
+        FunctionCounter.builder("i18n.message.cache.requests", cache, MessageCache::getHitCount)
+                .tag("result", "hit")
+                .description("Number of formatted message requests")
+                .register(registry);
+        FunctionCounter.builder("i18n.message.cache.requests", cache, MessageCache::getMissCount)
+                .tag("result", "miss")
+                .description("Number of formatted message requests")
+                .register(registry);
+        FunctionCounter.builder("i18n.message.cache.evictions", cache, MessageCache::getEvictionCount)
+                .description("Number of formatted messages evicted from the cache")
+                .register(registry);
+
+        LocalizationDiagnostics diagnostics = manager.getDiagnostics();
+        for (LocalizationDiagnostics.Event event : LocalizationDiagnostics.Event.values())
+        {
+            FunctionCounter.builder("i18n.events", diagnostics, d -> d.getCount(event))
+                    .tag("event", event.name().toLowerCase(Locale.ROOT))
+                    .description("Number of fallbacks and missing keys")
+                    .register(registry);
+        }
+
+        Gauge.builder("i18n.value.pool.saved", ValuePool.getInstance(), ValuePool::getSavedBytes)
+                .baseUnit("bytes")
+                .description("Memory saved by the deduplication of the resource bundle values")
+                .register(registry);
+
+        Recorder recorder = new Recorder(registry);
+        manager.getBundleCounts().keySet().forEach(recorder::bindBundles);
+        manager.getStatistics().setListener(recorder);
+    }
+
+    /**
+     * Records the localization statistics in a meter registry.
+     */
+    private final class Recorder implements LocalizationStatistics.Listener
+    {
+        /**
+         * Meter registry.
+         */
+        private final MeterRegistry registry;
+
+        /**
+         * Lookup timers (k = locale, v = timer), bounded as the locales having their own lookup counters.
+         */
+        private final Map<Locale, Timer> lookups = new ConcurrentHashMap<>();
+
+        /**
+         * Load timers (k = resource bundle path, v = timer).
+         */
+        private final Map<String, Timer> loads = new ConcurrentHashMap<>();
+
+        /**
+         * Locales having their resource bundle and key gauges bound.
+         */
+        private final Set<Locale> bound = ConcurrentHashMap.newKeySet();
+
+        /**
+         * Reload timer.
+         */
+        private final Timer reloads;
+
+        /**
+         * Create a recorder.
+         * @param registry Meter registry.
+         */
+        private Recorder(final @NonNull MeterRegistry registry)
+        {
+            this.registry = registry;
+            this.reloads = Timer.builder("i18n.bundle.reload")
+                    .description("Reloading time of the changed resource bundles")
+                    .register(registry);
+        }
+
+        /**
+         * Bind the resource bundle and key gauges of a locale having registered resource bundles, if not already bound.
+         * @param locale Locale.
+         */
+        private void bindBundles(final @NonNull Locale locale)
+        {
+            if (!bound.add(locale))
+            {
+                return;
+            }
+
+            String tag = locale.toLanguageTag();
+            Gauge.builder("i18n.bundles", manager, m -> m.getBundleCount(locale))
+                    .tag("locale", tag)
+                    .description("Number of registered resource bundles")
+                    .register(registry);
+            Gauge.builder("i18n.keys", manager, m -> m.getKeyCount(locale))
+                    .tag("locale", tag)
+                    .description("Number of distinct keys of the registered resource bundles")
+                    .register(registry);
+        }
+
+        @Override
+        public void onLocale(final Locale locale, final LocalizationStatistics.Counters counters)
+        {
+            String tag = locale.toLanguageTag();
+            FunctionCounter.builder("i18n.lookups", counters, LocalizationStatistics.Counters::getHitCount)
+                    .tag("locale", tag)
+                    .tag("result", "hit")
+                    .description("Number of lookups")
+                    .register(registry);
+            FunctionCounter.builder("i18n.lookups", counters, LocalizationStatistics.Counters::getMissCount)
+                    .tag("locale", tag)
+                    .tag("result", "miss")
+                    .description("Number of lookups")
+                    .register(registry);
+            FunctionCounter.builder("i18n.lookups", counters, LocalizationStatistics.Counters::getFallbackCount)
+                    .tag("locale", tag)
+                    .tag("result", "fallback")
+                    .description("Number of lookups")
+                    .register(registry);
+        }
+
+        @Override
+        public void onLookup(final Locale locale, final long nanos)
+        {
+            lookups.computeIfAbsent(locale, l -> Timer.builder("i18n.lookup.duration")
+                            .tag("locale", l.toLanguageTag())
+                            .description("Sampled lookup latency")
+                            .publishPercentileHistogram()
+                            .register(registry))
+                    .record(nanos, TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public void onLoad(final String path, final Locale locale, final long nanos)
+        {
+            loads.computeIfAbsent(path, p -> Timer.builder("i18n.bundle.load")
+                            .tag("bundle", p)
+                            .description("Loading time of the resource bundles")
+                            .register(registry))
+                    .record(nanos, TimeUnit.NANOSECONDS);
+            bindBundles(locale);
+        }
+
+        @Override
+        public void onReload(final int count, final long nanos)
+        {
+            reloads.record(nanos, TimeUnit.NANOSECONDS); // Only the resource bundles of already bound locales are reloaded
+        }
+    }
+}
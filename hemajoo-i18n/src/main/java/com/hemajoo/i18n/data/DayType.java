@@ -80,7 +80,7 @@ public enum DayType implements LocalizeEnum
     @I18n(bundle = DayType.RESOURCE_BUNDLE_FILE, key = "day.${this}.name")
     public String getName() throws LocalizationException
     {
-        return I18nManager.getInstance().localize(this, I18nManager.getInstance().getLocale());
+        return getName(I18nManager.getInstance().getLocale());
     }
 
     /**
@@ -93,7 +93,7 @@ public enum DayType implements LocalizeEnum
     @I18n(bundle = DayType.RESOURCE_BUNDLE_FILE, key = "day.${this}.name")
     public String getName(final @NonNull Locale locale) throws LocalizationException
     {
-        return I18nManager.getInstance().localize(this, locale);
+        return I18nManager.getInstance().getLabel(this, locale);
     }
 
     /**
@@ -104,7 +104,7 @@ public enum DayType implements LocalizeEnum
     @I18n(bundle = DayType.RESOURCE_BUNDLE_FILE, key = "day.${this}.description")
     public String getDescription() throws LocalizationException
     {
-        return I18nManager.getInstance().localize(this, I18nManager.getInstance().getLocale());
+        return I18nManager.getInstance().localize(this, I18nManager.getInstance().getLocale(), "getDescription");
     }
 
     /**
@@ -116,6 +116,6 @@ public enum DayType implements LocalizeEnum
     @I18n(bundle = DayType.RESOURCE_BUNDLE_FILE, key = "day.${this}.description")
     public String getDescription(final @NonNull Locale locale) throws LocalizationException
     {
-        return I18nManager.getInstance().localize(this, locale);
+        return I18nManager.getInstance().localize(this, locale, "getDescription");
     }
 }
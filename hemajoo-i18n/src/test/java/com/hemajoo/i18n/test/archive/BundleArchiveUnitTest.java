@@ -0,0 +1,91 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc. 2021-2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Systems Inc.
+ * and its suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.i18n.test.archive;
+
+import com.hemajoo.i18n.core.archive.BundleArchive;
+import com.hemajoo.i18n.core.archive.BundleArchiveWriter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.ResourceBundle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A class for unit testing the {@link BundleArchive} entity.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+class BundleArchiveUnitTest
+{
+    /**
+     * Temporary folder receiving the generated archive.
+     */
+    @TempDir
+    static Path folder;
+
+    /**
+     * Generate an archive from the resource bundles of the 'i18n' folder and open it.
+     * @return Bundle archive.
+     * @throws IOException Thrown to indicate an error occurred while generating or reading the archive.
+     * @throws URISyntaxException Thrown to indicate the resource folder cannot be found.
+     */
+    private static BundleArchive generate() throws IOException, URISyntaxException
+    {
+        Path root = Path.of(BundleArchiveUnitTest.class.getClassLoader().getResource("i18n/day.properties").toURI()).getParent().getParent();
+        Path output = folder.resolve("i18n.bundles");
+
+        BundleArchiveWriter.write(root, List.of("i18n"), output);
+
+        return BundleArchive.open(output);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "en", "fr", "de", "es", "it", "ja" })
+    void testArchiveMatchesPropertiesBundles(final String isoAlpha2) throws IOException, URISyntaxException
+    {
+        BundleArchive archive = generate();
+        Locale locale = Locale.forLanguageTag(isoAlpha2);
+
+        assertThat(archive.contains("i18n/day")).isTrue();
+
+        ResourceBundle expected = ResourceBundle.getBundle("i18n/day", locale);
+        ResourceBundle actual = archive.getBundle("i18n/day", locale);
+
+        assertThat(actual.getLocale()).isEqualTo(expected.getLocale());
+        assertThat(actual.keySet()).isEqualTo(expected.keySet());
+        for (String key : expected.keySet())
+        {
+            assertThat(actual.getString(key)).isEqualTo(expected.getString(key));
+        }
+    }
+
+    @Test
+    void testArchiveDoesNotContainUnknownBundle() throws IOException, URISyntaxException
+    {
+        BundleArchive archive = generate();
+
+        assertThat(archive.contains("i18n/does-not-exist")).isFalse();
+        assertThat(archive.getBundle("i18n/does-not-exist", Locale.FRENCH)).isNull();
+        assertThat(archive.getBundle("i18n/day", Locale.FRENCH).containsKey("does-not-exist")).isFalse();
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc. 2021-2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Systems Inc.
+ * and its suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.i18n.test.archive;
+
+import com.hemajoo.i18n.core.archive.OffHeapResourceBundle;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Locale;
+import java.util.ResourceBundle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A class for unit testing the {@link OffHeapResourceBundle} entity.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+class OffHeapResourceBundleUnitTest
+{
+    @ParameterizedTest
+    @ValueSource(strings = { "en", "fr", "de", "es", "it" })
+    void testOffHeapBundleMatchesSourceBundle(final String isoAlpha2)
+    {
+        ResourceBundle source = ResourceBundle.getBundle("i18n/language", Locale.forLanguageTag(isoAlpha2));
+        OffHeapResourceBundle bundle = OffHeapResourceBundle.of(source);
+
+        // Counted before the key set is decoded
+        assertThat(bundle.getSize()).isEqualTo(source.keySet().size());
+        assertThat(bundle.countKeys(key -> true)).isEqualTo(source.keySet().size());
+        assertThat(bundle.countKeys(key -> false)).isZero();
+
+        assertThat(bundle.getLocale()).isEqualTo(source.getLocale());
+        assertThat(bundle.keySet()).isEqualTo(source.keySet());
+        for (String key : source.keySet())
+        {
+            assertThat(bundle.find(key)).isEqualTo(source.getString(key));
+        }
+
+        assertThat(bundle.find("does-not-exist")).isNull();
+        assertThat(bundle.containsKey("does-not-exist")).isFalse();
+        assertThat(bundle.getOffHeapBytes()).isPositive();
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc. 2021-2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Systems Inc.
+ * and its suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.i18n.test.localization;
+
+import com.hemajoo.i18n.core.localization.BundleWatcher;
+import com.hemajoo.i18n.core.localization.I18nManager;
+import com.hemajoo.i18n.core.localization.LocalizationException;
+import lombok.NonNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A unit test class for testing the reload of the resource bundles by the <b>BundleWatcher</b>.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+class BundleWatcherUnitTest
+{
+    /**
+     * Resource bundle pointing at: 'i18n/watch'.
+     */
+    private static final String WATCH_RESOURCE_BUNDLE = "i18n/watch";
+
+    /**
+     * Resource bundle key for the greeting.
+     */
+    private static final String WATCH_RESOURCE_BUNDLE_KEY_GREETING = "com.hemajoo.i18n.test.watch.greeting";
+
+    /**
+     * Maximum time (in milliseconds) to wait for a change to be reloaded.
+     */
+    private static final long RELOAD_TIMEOUT = 10_000;
+
+    @AfterEach
+    void tearDown()
+    {
+        // Drop the reloaded resource bundles, the next tests load them again from the class path
+        I18nManager.getInstance().clearAll();
+    }
+
+    @Test
+    @DisplayName("Reload a resource bundle when its properties file changes")
+    void testReloadChangedResourceBundle(final @TempDir Path root) throws LocalizationException, IOException, InterruptedException
+    {
+        I18nManager manager = I18nManager.getInstance();
+        assertThat(manager.get(WATCH_RESOURCE_BUNDLE, WATCH_RESOURCE_BUNDLE_KEY_GREETING, Locale.FRENCH)).isEqualTo("Bonjour");
+
+        Path directory = Files.createDirectories(root.resolve("i18n"));
+        try (BundleWatcher watcher = manager.watch(root))
+        {
+            assertThat(watcher.getRoot()).isEqualTo(root.toAbsolutePath().normalize());
+
+            // A file of another resource bundle sharing the same prefix must not be reloaded as a French one
+            write(directory.resolve("watch_extra.properties"), "Extra");
+            write(directory.resolve("watch_fr.properties"), "Salut");
+            awaitValue(manager, "Salut");
+
+            // A malformed file must not stop the watcher
+            Files.writeString(directory.resolve("watch_fr.properties"), WATCH_RESOURCE_BUNDLE_KEY_GREETING + "=\\u00", StandardCharsets.ISO_8859_1);
+            Thread.sleep(500);
+            write(directory.resolve("watch_fr.properties"), "Coucou");
+            awaitValue(manager, "Coucou");
+        }
+    }
+
+    /**
+     * Write a properties file holding the greeting key.
+     * @param file File.
+     * @param value Greeting value.
+     * @throws IOException Thrown to indicate the file cannot be written.
+     */
+    private void write(final @NonNull Path file, final @NonNull String value) throws IOException
+    {
+        Files.writeString(file, WATCH_RESOURCE_BUNDLE_KEY_GREETING + "=" + value, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Wait until the French greeting served by the localization manager has an expected value.
+     * @param manager Localization manager.
+     * @param expected Expected value.
+     * @throws LocalizationException Thrown to indicate the key cannot be found.
+     * @throws InterruptedException Thrown to indicate the waiting thread has been interrupted.
+     */
+    private void awaitValue(final @NonNull I18nManager manager, final @NonNull String expected) throws LocalizationException, InterruptedException
+    {
+        long deadline = System.currentTimeMillis() + RELOAD_TIMEOUT;
+        String value = manager.get(WATCH_RESOURCE_BUNDLE, WATCH_RESOURCE_BUNDLE_KEY_GREETING, Locale.FRENCH);
+
+        while (!expected.equals(value) && System.currentTimeMillis() < deadline)
+        {
+            Thread.sleep(50);
+            value = manager.get(WATCH_RESOURCE_BUNDLE, WATCH_RESOURCE_BUNDLE_KEY_GREETING, Locale.FRENCH);
+        }
+
+        assertThat(value).isEqualTo(expected);
+    }
+}
@@ -15,7 +15,9 @@
 package com.hemajoo.i18n.test.localization;
 
 import com.hemajoo.commons.core.DatabaseTestConfiguration;
+import com.hemajoo.i18n.core.localization.LocaleContext;
 import com.hemajoo.i18n.core.localization.LocalizationException;
+import com.hemajoo.i18n.core.localization.LocalizeEnum;
 import com.hemajoo.i18n.data.DayType;
 import lombok.NonNull;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -60,4 +62,35 @@ class DayTypeUnitTest
 
         assertThat(day.getDescription(Locale.forLanguageTag(isoAlpha2))).isEqualTo(localization);
     }
+
+    @ParameterizedTest
+    @CsvSource(value = {
+            "fr;Lundi;Dimanche",
+            "en;Monday;Sunday",
+            "de;Montag;Sonntag",
+    }, delimiter = ';')
+    void testLocalizeDayTypeLabels(final @NonNull String isoAlpha2, final @NonNull String first, final @NonNull String last) throws LocalizationException
+    {
+        String[] labels = LocalizeEnum.labels(DayType.class, Locale.forLanguageTag(isoAlpha2));
+
+        assertThat(labels).hasSize(DayType.values().length);
+        assertThat(labels[DayType.MONDAY.ordinal()]).isEqualTo(first);
+        assertThat(labels[DayType.SUNDAY.ordinal()]).isEqualTo(last);
+        assertThat(labels[DayType.FRIDAY.ordinal()]).isEqualTo(DayType.FRIDAY.getName(Locale.forLanguageTag(isoAlpha2)));
+    }
+
+    @ParameterizedTest
+    @CsvSource(value = {
+            "MONDAY;fr;Lundi",
+            "MONDAY;de;Montag",
+    }, delimiter = ';')
+    void testLocalizeDayTypeNameInLocaleContext(final @NonNull String enumValue, final @NonNull String isoAlpha2, final @NonNull String localization) throws LocalizationException
+    {
+        DayType day = DayType.valueOf(enumValue);
+
+        String name = LocaleContext.call(Locale.forLanguageTag(isoAlpha2), day::getName);
+
+        assertThat(name).isEqualTo(localization);
+        assertThat(LocaleContext.current()).isNull();
+    }
 }
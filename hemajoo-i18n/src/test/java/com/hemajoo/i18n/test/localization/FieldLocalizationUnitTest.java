@@ -0,0 +1,198 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc. 2021-2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Systems Inc.
+ * and its suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.i18n.test.localization;
+
+import com.hemajoo.commons.core.DatabaseTestConfiguration;
+import com.hemajoo.i18n.core.annotation.I18n;
+import com.hemajoo.i18n.core.localization.I18nManager;
+import com.hemajoo.i18n.core.localization.LocalizationException;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * A class for unit testing the localization of the fields annotated with the <b>I18n</b> annotation.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@SpringBootTest(classes = { DatabaseTestConfiguration.class })
+class FieldLocalizationUnitTest
+{
+    @Test
+    @DisplayName("Localize a field through a setter taking the localized value")
+    void testLocalizeFieldWithValueSetter() throws LocalizationException
+    {
+        Quote quote = new Quote("1");
+
+        I18nManager.getInstance().localizeFields(quote, Locale.FRENCH);
+
+        assertThat(quote.getName()).isEqualTo("(FR) Your day");
+    }
+
+    @Test
+    @DisplayName("Localize a field through a setter taking the localized value and the locale")
+    void testLocalizeFieldWithLocaleSetter() throws LocalizationException
+    {
+        LocalizedQuote quote = new LocalizedQuote();
+
+        I18nManager.getInstance().localizeFields(quote, Locale.ITALIAN);
+
+        assertThat(quote.getName()).isEqualTo("(IT) Your day");
+        assertThat(quote.getLocale()).isEqualTo(Locale.ITALIAN);
+    }
+
+    @Test
+    @DisplayName("Reuse the cached field localization plan of a class for all its instances")
+    void testLocalizeFieldsWithCachedPlan() throws LocalizationException
+    {
+        Quote first = new Quote("1");
+        Quote second = new Quote("2");
+
+        // The plan is cached per class, the key variables are still expanded per instance and the locale per call
+        I18nManager.getInstance().localizeFields(first, Locale.FRENCH);
+        I18nManager.getInstance().localizeFields(second, Locale.FRENCH);
+        assertThat(first.getName()).isEqualTo("(FR) Your day");
+        assertThat(second.getName()).isEqualTo("(FR) Failure");
+
+        I18nManager.getInstance().localizeFields(first, Locale.ENGLISH);
+        assertThat(first.getName()).isEqualTo("(EN) Your day");
+    }
+
+    @Test
+    @DisplayName("Localize a field inherited from a super class")
+    void testLocalizeInheritedField() throws LocalizationException
+    {
+        DailyQuote quote = new DailyQuote("2");
+
+        I18nManager.getInstance().localizeFields(quote, Locale.FRENCH);
+
+        assertThat(quote.getName()).isEqualTo("(FR) Failure");
+        assertThat(quote.getText()).isEqualTo("(FR) You always pass failure on the way.");
+    }
+
+    @Test
+    @DisplayName("Cannot localize a field without setter")
+    void testCannotLocalizeFieldWithoutSetter()
+    {
+        UnsettableQuote quote = new UnsettableQuote();
+
+        LocalizationException exception = assertThrows(LocalizationException.class, () -> I18nManager.getInstance().localizeFields(quote, Locale.FRENCH));
+
+        assertThat(exception.getMessage()).contains("setName");
+        assertThat(quote.name).isNull();
+    }
+
+    @Test
+    @DisplayName("Report a failing setter as a localization exception")
+    void testCannotLocalizeFieldWithFailingSetter()
+    {
+        FailingQuote quote = new FailingQuote();
+
+        LocalizationException exception = assertThrows(LocalizationException.class, () -> I18nManager.getInstance().localizeFields(quote, Locale.FRENCH));
+
+        assertThat(exception.getCause()).isInstanceOf(IllegalStateException.class);
+    }
+
+    /**
+     * A quote localized through a setter taking the localized value.
+     */
+    @I18n(bundle = "i18n/test")
+    static class Quote
+    {
+        @Getter
+        private final String quoteNumber;
+
+        @Setter
+        @Getter
+        @I18n(key = "com.hemajoo.i18n.quote.${quoteNumber}.name")
+        private String name;
+
+        Quote(final @NonNull String quoteNumber)
+        {
+            this.quoteNumber = quoteNumber;
+        }
+    }
+
+    /**
+     * A quote inheriting its localized name and adding a localized text.
+     */
+    @I18n(bundle = "i18n/test")
+    static final class DailyQuote extends Quote
+    {
+        @Setter
+        @Getter
+        @I18n(key = "com.hemajoo.i18n.quote.${quoteNumber}.text")
+        private String text;
+
+        DailyQuote(final @NonNull String quoteNumber)
+        {
+            super(quoteNumber);
+        }
+    }
+
+    /**
+     * A quote localized through a setter taking the localized value and the locale.
+     */
+    @I18n(bundle = "i18n/test")
+    static final class LocalizedQuote
+    {
+        @Getter
+        @I18n(key = "com.hemajoo.i18n.quote.1.name")
+        private String name;
+
+        @Getter
+        private Locale locale;
+
+        public void setName(final String name, final @NonNull Locale locale)
+        {
+            this.name = name;
+            this.locale = locale;
+        }
+    }
+
+    /**
+     * A quote whose localized field does not have a setter.
+     */
+    @I18n(bundle = "i18n/test")
+    private static final class UnsettableQuote
+    {
+        @I18n(key = "com.hemajoo.i18n.quote.1.name")
+        private String name;
+    }
+
+    /**
+     * A quote whose setter fails.
+     */
+    @I18n(bundle = "i18n/test")
+    private static final class FailingQuote
+    {
+        @Getter
+        @I18n(key = "com.hemajoo.i18n.quote.1.name")
+        private String name;
+
+        public void setName(final String name)
+        {
+            throw new IllegalStateException("Read only name: " + name);
+        }
+    }
+}
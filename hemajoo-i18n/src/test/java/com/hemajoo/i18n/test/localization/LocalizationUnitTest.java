@@ -14,14 +14,21 @@
  */
 package com.hemajoo.i18n.test.localization;
 
+import com.hemajoo.i18n.core.ValuePool;
 import com.hemajoo.i18n.core.localization.I18nManager;
 import com.hemajoo.i18n.core.localization.InstantLocalization;
 import com.hemajoo.i18n.core.localization.LocalizationException;
+import com.hemajoo.i18n.core.localization.LocalizationDiagnostics;
 import com.hemajoo.i18n.core.localization.data.LanguageType;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.ResourceBundle;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -128,6 +135,15 @@ class LocalizationUnitTest
         assertThrows(LocalizationException.class, () -> InstantLocalization.asString(TEST_RESOURCE_BUNDLE_KEY_HIGHWAY_NAME)); // No bundle registered!
     }
 
+    @Test
+    @DisplayName("Cannot localize a key of a missing resource bundle")
+    void testCannotLocalizeMissingBundle()
+    {
+        assertThrows(LocalizationException.class, () -> I18nManager.getInstance().getKey("i18n/nonexistent", "x", Locale.FRENCH));
+        assertThrows(LocalizationException.class, () -> I18nManager.getInstance().get("i18n/nonexistent", "x", Locale.FRENCH));
+        assertThrows(LocalizationException.class, () -> I18nManager.getInstance().load("i18n/nonexistent", Locale.FRENCH));
+    }
+
     @Test
     @DisplayName("Cannot localize a resource bundle key")
     void testCannotLocalize() throws LocalizationException
@@ -221,4 +237,232 @@ class LocalizationUnitTest
         quote.localize(LanguageType.SPANISH);
         assertThat(quote.getQuoteName()).isEqualTo("(ES) Failure");
     }
+
+    @Test
+    @DisplayName("Localize a quote having a missing key")
+    void testLocalizationQuoteMissingKey() throws LocalizationException
+    {
+        QuoteOfTheDay missing = QuoteOfTheDay.builder()
+                .withNumber(99)
+                .build();
+
+        LocalizationDiagnostics diagnostics = I18nManager.getInstance().getDiagnostics();
+        long before = diagnostics.getCount(LocalizationDiagnostics.Event.MISSING_KEY);
+
+        // Repeated lookups of a missing key must keep failing
+        assertThrows(LocalizationException.class, () -> missing.localize(Locale.FRENCH));
+        LocalizationException miss = assertThrows(LocalizationException.class, () -> missing.localize(Locale.FRENCH));
+        LocalizationException cached = assertThrows(LocalizationException.class, () -> missing.localize(Locale.FRENCH));
+
+        // Once cached, a missing key is reported with the message recorded in the negative cache (not formatted again)
+        assertThat(cached.getMessage()).isSameAs(miss.getMessage());
+
+        // Missing keys are counted instead of being logged one by one
+        assertThat(diagnostics.getCount(LocalizationDiagnostics.Event.MISSING_KEY) - before).isGreaterThanOrEqualTo(2);
+        assertThat(diagnostics.getCounts().keySet()).anyMatch(entry -> entry.locale().equals(Locale.FRENCH));
+
+        QuoteOfTheDay quote = QuoteOfTheDay.builder()
+                .withNumber(1)
+                .build();
+
+        quote.localize(Locale.FRENCH);
+        assertThat(quote.getQuoteName()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Localize the annotated fields when the caller is not a localization method")
+    void testLocalizeFromNonLocalizationCaller() throws LocalizationException
+    {
+        QuoteOfTheDay quote = QuoteOfTheDay.builder()
+                .withNumber(1)
+                .build();
+
+        assertThat(I18nManager.getInstance().localize(quote, Locale.FRENCH)).isNull();
+        assertThat(quote.getQuoteName()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Count the missing keys beyond the maximum number of diagnostics entries")
+    void testDiagnosticsOverflow() throws LocalizationException
+    {
+        I18nManager.getInstance().load(TEST_RESOURCE_BUNDLE, Locale.FRENCH);
+        LocalizationDiagnostics diagnostics = I18nManager.getInstance().getDiagnostics();
+        diagnostics.reset();
+
+        try
+        {
+            for (int i = 0; i < 4096 + 10; i++)
+            {
+                String key = "com.hemajoo.i18n.missing." + i;
+                assertThrows(LocalizationException.class, () -> I18nManager.getInstance().get(key, Locale.FRENCH));
+            }
+            assertThrows(LocalizationException.class, () -> I18nManager.getInstance().get("com.hemajoo.i18n.missing.0", Locale.FRENCH));
+
+            assertThat(diagnostics.getCounts()).hasSize(4096);
+            assertThat(diagnostics.getOverflowCount()).isEqualTo(10);
+            assertThat(diagnostics.getCount(LocalizationDiagnostics.Event.MISSING_KEY)).isEqualTo(4096 + 11);
+            assertThat(diagnostics.getCount(LocalizationDiagnostics.Event.MISSING_KEY, LocalizationDiagnostics.ANY_BUNDLE, "com.hemajoo.i18n.missing.0", Locale.FRENCH)).isEqualTo(2);
+        }
+        finally
+        {
+            diagnostics.reset();
+        }
+    }
+
+    @Test
+    @DisplayName("Localize a quote for a regional locale")
+    void testLocalizationQuoteRegionalLocale() throws LocalizationException
+    {
+        QuoteOfTheDay quote = QuoteOfTheDay.builder()
+                .withNumber(2)
+                .build();
+
+        quote.localize(Locale.CANADA_FRENCH);
+        assertThat(quote.getQuoteName()).isEqualTo("(FR) Failure");
+        assertThat(I18nManager.getInstance().get(TEST_RESOURCE_BUNDLE, "com.hemajoo.i18n.quote.2.name", Locale.CANADA_FRENCH)).isEqualTo("(FR) Failure");
+    }
+
+    @Test
+    @DisplayName("Localize with regional locales having no regional resource bundle")
+    void testLocalizationRegionalLocaleWithoutRegionalBundle() throws LocalizationException
+    {
+        I18nManager.getInstance().load(TEST_RESOURCE_BUNDLE, Locale.FRENCH);
+        long version = I18nManager.getInstance().getVersion();
+
+        assertThat(I18nManager.getInstance().get(TEST_RESOURCE_BUNDLE, "com.hemajoo.i18n.quote.2.name", Locale.CANADA_FRENCH)).isEqualTo("(FR) Failure");
+        assertThat(I18nManager.getInstance().get(TEST_RESOURCE_BUNDLE, "com.hemajoo.i18n.quote.2.name", Locale.forLanguageTag("fr-BE"))).isEqualTo("(FR) Failure");
+
+        // Regional locales fall back on the French resource bundle, they are neither registered nor change the version
+        assertThat(I18nManager.getInstance().getVersion()).isEqualTo(version);
+
+        // The first merged key lookup of a regional locale loads the other known resource bundles for its parent locale only
+        assertThat(I18nManager.getInstance().get("com.hemajoo.i18n.quote.2.name", Locale.forLanguageTag("fr-CH"))).isEqualTo("(FR) Failure");
+        version = I18nManager.getInstance().getVersion();
+        assertThat(I18nManager.getInstance().get("com.hemajoo.i18n.quote.2.name", Locale.forLanguageTag("fr-LU"))).isEqualTo("(FR) Failure");
+        assertThat(I18nManager.getInstance().getVersion()).isEqualTo(version);
+
+        assertThat(I18nManager.getInstance().getBundleCounts()).doesNotContainKeys(Locale.CANADA_FRENCH, Locale.forLanguageTag("fr-BE"), Locale.forLanguageTag("fr-CH"), Locale.forLanguageTag("fr-LU"));
+    }
+
+    @Test
+    @DisplayName("Localize with a regional locale having a regional resource bundle for some resource bundles only")
+    void testLocalizationRegionalLocaleWithSomeRegionalBundles() throws LocalizationException
+    {
+        I18nManager.getInstance().load(TEST_RESOURCE_BUNDLE, Locale.FRENCH);
+        I18nManager.getInstance().load("i18n/region", Locale.CANADA_FRENCH);
+
+        // Keys of the regional file, then of its parent file
+        assertThat(I18nManager.getInstance().get("i18n/region", "com.hemajoo.i18n.region.currency", Locale.CANADA_FRENCH)).isEqualTo("(FR-CA) Dollar");
+        assertThat(I18nManager.getInstance().get("i18n/region", "com.hemajoo.i18n.region.name", Locale.CANADA_FRENCH)).isEqualTo("(FR) R\u00e9gion");
+        assertThat(I18nManager.getInstance().get("com.hemajoo.i18n.region.currency", Locale.CANADA_FRENCH)).isEqualTo("(FR-CA) Dollar");
+
+        // Keys of a resource bundle having no regional file are found in the one of the parent locale
+        assertThat(I18nManager.getInstance().get(TEST_RESOURCE_BUNDLE, "com.hemajoo.i18n.quote.2.name", Locale.CANADA_FRENCH)).isEqualTo("(FR) Failure");
+        assertThat(I18nManager.getInstance().get("com.hemajoo.i18n.quote.2.name", Locale.CANADA_FRENCH)).isEqualTo("(FR) Failure");
+    }
+
+    @Test
+    @DisplayName("Localize a batch of quotes")
+    void testLocalizationQuoteBatch() throws LocalizationException
+    {
+        List<QuoteOfTheDay> quotes = new ArrayList<>();
+        for (int i = 0; i < 1000; i++)
+        {
+            quotes.add(QuoteOfTheDay.builder().withNumber(1 + i % 2).build());
+        }
+
+        I18nManager.getInstance().localizeAll(quotes, LanguageType.SPANISH.getLocale(), true);
+
+        assertThat(quotes.get(1).getQuoteName()).isEqualTo("(ES) Failure");
+        assertThat(quotes).allMatch(quote -> quote.getQuoteName() != null && quote.getQuoteDescription() != null);
+    }
+
+    @Test
+    @DisplayName("Format a parameterized message")
+    void testFormatMessage() throws LocalizationException
+    {
+        I18nManager manager = I18nManager.getInstance();
+        manager.load(TEST_RESOURCE_BUNDLE);
+
+        long hits = manager.getMessageCache().getHitCount();
+        for (int i = 0; i < 3; i++)
+        {
+            assertThat(manager.format("com.hemajoo.i18n.message.inbox", Locale.ENGLISH, "Alice", 3)).isEqualTo("(EN) Alice has 3 messages");
+        }
+
+        assertThat(manager.getMessageCache().getHitCount()).isGreaterThan(hits);
+    }
+
+    @Test
+    @DisplayName("Compile the message templates of a key shared by two resource bundles")
+    void testFormatBundleScopedMessage() throws LocalizationException
+    {
+        I18nManager manager = I18nManager.getInstance();
+        manager.load(TEST_RESOURCE_BUNDLE, Locale.ENGLISH);
+        int bundles = manager.getBundleCount(Locale.ENGLISH);
+
+        try
+        {
+            assertThat(manager.getTemplate(TEST_RESOURCE_BUNDLE, "com.hemajoo.i18n.message.inbox", Locale.ENGLISH).format("Alice", 3)).isEqualTo("(EN) Alice has 3 messages");
+            assertThat(manager.getTemplate("i18n/mail", "com.hemajoo.i18n.message.inbox", Locale.ENGLISH).format("Alice", 3)).isEqualTo("(MAIL EN) Alice has 3 unread mails");
+            assertThat(manager.getTemplate(TEST_RESOURCE_BUNDLE, "com.hemajoo.i18n.message.inbox", Locale.ENGLISH).format("Alice", 3)).isEqualTo("(EN) Alice has 3 messages");
+            assertThat(manager.getTemplate("i18n/mail", "com.hemajoo.i18n.message.inbox", Locale.ENGLISH))
+                    .isSameAs(manager.getTemplate("i18n/mail", "com.hemajoo.i18n.message.inbox", Locale.ENGLISH));
+            assertThat(manager.getBundleCount(Locale.ENGLISH)).isEqualTo(bundles + 1);
+        }
+        finally
+        {
+            // The mail resource bundle shares its key with the test one, do not leave it in the merged key index
+            manager.unload("i18n/mail", Locale.ENGLISH);
+        }
+
+        assertThat(manager.getBundleCount(Locale.ENGLISH)).isEqualTo(bundles);
+        assertThat(manager.get("com.hemajoo.i18n.message.inbox", Locale.ENGLISH)).startsWith("(EN)");
+    }
+
+    @Test
+    @DisplayName("Find a resource without raising an exception")
+    void testFindResource()
+    {
+        I18nManager manager = I18nManager.getInstance();
+
+        assertThat(manager.find(TEST_RESOURCE_BUNDLE, TEST_RESOURCE_BUNDLE_KEY_HIGHWAY_NAME, Locale.FRENCH)).contains("Autoroute");
+        assertThat(manager.find(TEST_RESOURCE_BUNDLE_KEY_HIGHWAY_DOES_NOT_EXIST, Locale.FRENCH)).isEmpty();
+        assertThat(manager.getOrDefault(TEST_RESOURCE_BUNDLE_KEY_HIGHWAY_NAME, Locale.FRENCH, "Default")).isEqualTo("Autoroute");
+        assertThat(manager.getOrDefault(TEST_RESOURCE_BUNDLE_KEY_HIGHWAY_DOES_NOT_EXIST, Locale.FRENCH, "Default")).isEqualTo("Default");
+    }
+
+    @Test
+    @DisplayName("Warm up a set of resource bundles")
+    void testWarmUp() throws LocalizationException
+    {
+        Map<String, Duration> elapsed = I18nManager.getInstance().warmUp(List.of(TEST_RESOURCE_BUNDLE, "i18n/day"));
+
+        assertThat(elapsed).containsOnlyKeys(TEST_RESOURCE_BUNDLE, "i18n/day");
+        assertThat(I18nManager.getInstance().getOrDefault("day.MONDAY.name", Locale.GERMAN, null)).isEqualTo("Montag");
+        assertThrows(LocalizationException.class, () -> I18nManager.getInstance().warmUp(List.of("i18n/does-not-exist")));
+    }
+
+    @Test
+    @DisplayName("Share the values of the loaded resource bundles through the value pool")
+    void testValuePool() throws LocalizationException
+    {
+        I18nManager manager = I18nManager.getInstance();
+        ValuePool pool = ValuePool.getInstance();
+
+        // The same value from the resource bundles of two languages is held only once
+        String german = manager.get("i18n/language", "language.HINDI.name", Locale.GERMAN);
+        String italian = manager.get("i18n/language", "language.HINDI.name", Locale.ITALIAN);
+
+        assertThat(german).isEqualTo("Hindi").isSameAs(italian);
+        assertThat(pool.getDeduplicatedCount()).isPositive();
+
+        // Rebuilding the merged key index of a locale does not submit the values already registered to the pool again
+        manager.clearAll();
+        manager.load("i18n/language", Locale.GERMAN);
+        long requests = pool.getRequestCount();
+        manager.load("i18n/month", Locale.GERMAN);
+        int monthKeys = ResourceBundle.getBundle("i18n/month", Locale.GERMAN).keySet().size();
+        assertThat(pool.getRequestCount() - requests).isEqualTo(2L * monthKeys); // Keys and values of the new resource bundle only
+    }
 }
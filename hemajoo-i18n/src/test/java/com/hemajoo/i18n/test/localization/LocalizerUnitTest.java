@@ -0,0 +1,126 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc. 2021-2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Systems Inc.
+ * and its suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.i18n.test.localization;
+
+import com.hemajoo.commons.core.DatabaseTestConfiguration;
+import com.hemajoo.i18n.core.annotation.I18n;
+import com.hemajoo.i18n.core.localization.I18nManager;
+import com.hemajoo.i18n.core.localization.LocalizationException;
+import com.hemajoo.i18n.data.DayType;
+import com.hemajoo.i18n.data.DayTypeLocalizer;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * A class for unit testing the localizers generated by the <b>I18n</b> annotation processor.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@SpringBootTest(classes = { DatabaseTestConfiguration.class })
+class LocalizerUnitTest
+{
+    @ParameterizedTest
+    @EnumSource(DayType.class)
+    void testGeneratedEnumLocalizerMatchesRuntimeLocalization(final @NonNull DayType day) throws LocalizationException
+    {
+        assertThat(DayTypeLocalizer.getName(day, Locale.FRENCH)).isEqualTo(day.getName(Locale.FRENCH));
+        assertThat(DayTypeLocalizer.getDescription(day, Locale.ENGLISH)).isEqualTo(day.getDescription(Locale.ENGLISH));
+    }
+
+    @Test
+    void testGeneratedFieldLocalizer() throws LocalizationException
+    {
+        QuoteOfTheDay quote = QuoteOfTheDay.builder()
+                .withNumber(1)
+                .build();
+
+        QuoteOfTheDayLocalizer.localizeFields(quote, Locale.GERMAN);
+
+        assertThat(quote.getQuoteName()).isEqualTo("(DE) Your day");
+    }
+
+    @Test
+    void testGeneratedFieldLocalizerIsBundleScoped()
+    {
+        QuoteOfTheDay missing = QuoteOfTheDay.builder()
+                .withNumber(99)
+                .build();
+
+        // Resolved in the resource bundle of the annotation (not in all the registered ones), as the runtime localization does
+        LocalizationException generated = assertThrows(LocalizationException.class, () -> QuoteOfTheDayLocalizer.localizeFields(missing, Locale.GERMAN));
+        LocalizationException runtime = assertThrows(LocalizationException.class, () -> missing.localize(Locale.GERMAN));
+
+        assertThat(generated.getMessage()).contains("in bundle").isEqualTo(runtime.getMessage());
+    }
+
+    @Test
+    void testGeneratedFieldLocalizerMatchesRuntimeLocalizationOfInheritedFields() throws LocalizationException
+    {
+        FieldLocalizationUnitTest.DailyQuote generated = new FieldLocalizationUnitTest.DailyQuote("2");
+        FieldLocalizationUnitTest.DailyQuote runtime = new FieldLocalizationUnitTest.DailyQuote("2");
+
+        FieldLocalizationUnitTest_DailyQuoteLocalizer.localizeFields(generated, Locale.FRENCH);
+        I18nManager.getInstance().localizeFields(runtime, Locale.FRENCH);
+
+        assertThat(generated.getName()).isNotNull().isEqualTo(runtime.getName());
+        assertThat(generated.getText()).isNotNull().isEqualTo(runtime.getText());
+    }
+
+    @Test
+    void testGeneratedLocalizerAppliesTypeAnnotationAsRuntimeLocalization() throws LocalizationException
+    {
+        Card generated = new Card();
+        Card runtime = new Card();
+
+        // The type annotation provides the bundle of the fields
+        LocalizerUnitTest_CardLocalizer.localizeFields(generated, Locale.FRENCH);
+        I18nManager.getInstance().localizeFields(runtime, Locale.FRENCH);
+        assertThat(generated.getTitle()).isNotNull().isEqualTo(runtime.getTitle());
+
+        // But only provides the bundle of the methods of enumerations, the method of a class has no bundle
+        assertThrows(LocalizationException.class, () -> runtime.getText(Locale.FRENCH));
+        assertThat(Arrays.stream(LocalizerUnitTest_CardLocalizer.class.getMethods()).map(Method::getName)).doesNotContain("getText");
+    }
+
+    /**
+     * A class whose localized elements rely on the bundle of its type annotation.
+     */
+    @I18n(bundle = "i18n/test")
+    public static final class Card
+    {
+        @Getter
+        @Setter
+        @I18n(key = "com.hemajoo.i18n.quote.1.name")
+        private String title;
+
+        @I18n(key = "com.hemajoo.i18n.quote.1.text")
+        public String getText(final @NonNull Locale locale) throws LocalizationException
+        {
+            return I18nManager.getInstance().localize(this, locale, "getText");
+        }
+    }
+}
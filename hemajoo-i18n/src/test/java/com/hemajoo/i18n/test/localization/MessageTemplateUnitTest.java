@@ -0,0 +1,83 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc. 2021-2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Systems Inc.
+ * and its suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.i18n.test.localization;
+
+import com.hemajoo.i18n.core.localization.MessageTemplate;
+import lombok.NonNull;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.text.MessageFormat;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * A class for unit testing the {@link MessageTemplate} class.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+class MessageTemplateUnitTest
+{
+    @ParameterizedTest
+    @CsvSource(value = {
+            "{0} has {1} messages;en",
+            "{0} a {1,number,integer} messages;fr",
+            "It''s '{0}' and {0};de",
+            "There {1,choice,0#are no files|1#is one file|1<are {1,number,integer} files}.;en",
+            "{1,number,percent} of {0};fr",
+    }, delimiter = ';')
+    void testRenderAsMessageFormat(final @NonNull String pattern, final @NonNull String isoAlpha2)
+    {
+        Locale locale = Locale.forLanguageTag(isoAlpha2);
+        MessageTemplate template = MessageTemplate.compile(pattern, locale);
+
+        for (Object[] arguments : new Object[][] { { "Paul", 0 }, { "Paul", 1 }, { "Paul", -1234567 }, { "Paul", 0.75 } })
+        {
+            assertThat(template.format(arguments)).isEqualTo(new MessageFormat(pattern, locale).format(arguments));
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource(value = {
+            "{ 0};en",
+            "{0 };en",
+            "{ 1,number,integer} messages;fr",
+    }, delimiter = ';')
+    @DisplayName("Reject the argument indexes rejected by MessageFormat")
+    void testRejectInvalidArgumentIndex(final @NonNull String pattern, final @NonNull String isoAlpha2)
+    {
+        Locale locale = Locale.forLanguageTag(isoAlpha2);
+
+        assertThrows(IllegalArgumentException.class, () -> new MessageFormat(pattern, locale));
+        assertThrows(IllegalArgumentException.class, () -> MessageTemplate.compile(pattern, locale));
+    }
+
+    @Test
+    @DisplayName("Render a message template with variables")
+    void testRenderVariables()
+    {
+        MessageTemplate template = MessageTemplate.compile("${user} has {0} messages", Locale.ENGLISH);
+        StringBuilder builder = new StringBuilder("> ");
+
+        template.render(builder, Map.of("user", "Alice"), 1500);
+
+        assertThat(builder).hasToString("> Alice has 1,500 messages");
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc. 2021-2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Systems Inc.
+ * and its suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.i18n.test.metrics;
+
+import com.hemajoo.i18n.core.localization.I18nManager;
+import com.hemajoo.i18n.core.localization.LocalizationException;
+import com.hemajoo.i18n.core.localization.StorageMode;
+import com.hemajoo.i18n.core.metrics.LocalizationMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * A class for unit testing the {@link LocalizationMetrics} entity.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+class LocalizationMetricsUnitTest
+{
+    /**
+     * Resource bundle pointing at: 'i18n/test'.
+     */
+    private static final String TEST_RESOURCE_BUNDLE = "i18n/test";
+
+    /**
+     * Resource bundle key for name of entry: 'highway'.
+     */
+    private static final String TEST_RESOURCE_BUNDLE_KEY_HIGHWAY_NAME = "com.hemajoo.i18n.test.highway.name";
+
+    @Test
+    @DisplayName("Publish the localization metrics")
+    void testPublishMetrics() throws LocalizationException
+    {
+        I18nManager manager = I18nManager.getInstance();
+        manager.load(TEST_RESOURCE_BUNDLE, Locale.GERMAN);
+
+        MeterRegistry registry = new SimpleMeterRegistry();
+        new LocalizationMetrics(manager).bindTo(registry);
+        manager.getStatistics().setSamplingRate(1);
+
+        manager.get(TEST_RESOURCE_BUNDLE, TEST_RESOURCE_BUNDLE_KEY_HIGHWAY_NAME, Locale.GERMAN);
+        assertThrows(LocalizationException.class, () -> manager.get(TEST_RESOURCE_BUNDLE, "com.hemajoo.i18n.test.does-not-exist", Locale.GERMAN));
+
+        assertThat(registry.get("i18n.lookups").tag("locale", "de").tag("result", "hit").functionCounter().count()).isPositive();
+        assertThat(registry.get("i18n.lookups").tag("locale", "de").tag("result", "miss").functionCounter().count()).isPositive();
+        assertThat(registry.get("i18n.lookup.duration").tag("locale", "de").timer().count()).isPositive();
+        assertThat(registry.get("i18n.keys").tag("locale", "de").gauge().value()).isPositive();
+
+        manager.getStatistics().setListener(null);
+        manager.getStatistics().setSamplingRate(1 << 6);
+    }
+
+    @Test
+    @DisplayName("Publish the resource bundle and key gauges of a locale loaded after binding")
+    void testPublishBundleGauges() throws LocalizationException
+    {
+        I18nManager manager = I18nManager.getInstance();
+        MeterRegistry registry = new SimpleMeterRegistry();
+        new LocalizationMetrics(manager).bindTo(registry);
+
+        try
+        {
+            manager.setStorageMode(StorageMode.OFF_HEAP); // Keys counted on the first gauge read
+            manager.load("i18n/mail", Locale.JAPANESE);
+
+            assertThat(registry.get("i18n.bundles").tag("locale", "ja").gauge().value()).isEqualTo(1);
+            assertThat(registry.get("i18n.keys").tag("locale", "ja").gauge().value()).isEqualTo(1);
+            assertThat(manager.getKeyCounts()).containsEntry(Locale.JAPANESE, 1);
+        }
+        finally
+        {
+            manager.setStorageMode(StorageMode.HEAP);
+            manager.getStatistics().setListener(null);
+        }
+    }
+}
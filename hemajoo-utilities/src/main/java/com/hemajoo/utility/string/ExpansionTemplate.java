@@ -0,0 +1,155 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.utility.string;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An immutable and thread-safe template of a string containing variables (ex.: <code>day.${this}.name</code>), split
+ * once into its literal and variable segments.
+ * <br>
+ * Expanding a template neither scans the text again nor copies it once per variable: the segments are appended in a
+ * single pass. Templates can therefore be compiled once and cached (see {@link StringExpander#compile(String)}).
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+public final class ExpansionTemplate
+{
+    /**
+     * Template text.
+     */
+    @Getter
+    private final String text;
+
+    /**
+     * Literal segments (one more than the number of variables, possibly empty).
+     */
+    private final String[] literals;
+
+    /**
+     * Variable names.
+     */
+    private final String[] variables;
+
+    /**
+     * Create a template.
+     * @param text Template text.
+     * @param literals Literal segments.
+     * @param variables Variable names.
+     */
+    private ExpansionTemplate(final @NonNull String text, final @NonNull String[] literals, final @NonNull String[] variables)
+    {
+        this.text = text;
+        this.literals = literals;
+        this.variables = variables;
+    }
+
+    /**
+     * Compile a text containing variables.
+     * <br>
+     * A variable has the format: <code>&lt;pattern&gt;{variable_name}</code>. A variable start without its closing
+     * character is kept as a literal.
+     * @param pattern Pattern character (ex.: standard is $ -> ${variable} but you are free to use another one).
+     * @param text Text containing variables.
+     * @return Template.
+     */
+    public static ExpansionTemplate compile(final char pattern, final @NonNull String text)
+    {
+        int[] spans = VariableScanner.scan(text, pattern);
+        String[] literals = new String[spans.length / 2 + 1];
+        String[] variables = new String[spans.length / 2];
+        int offset = 0;
+
+        for (int i = 0; i < variables.length; i++)
+        {
+            literals[i] = text.substring(offset, spans[i * 2]);
+            variables[i] = VariableScanner.nameOf(text, spans, i);
+            offset = spans[i * 2 + 1];
+        }
+
+        literals[variables.length] = text.substring(offset);
+
+        return new ExpansionTemplate(text, literals, variables);
+    }
+
+    /**
+     * Return the names of the variables, in order of appearance.
+     * @return Variable names.
+     */
+    public List<String> getVariableNames()
+    {
+        return Collections.unmodifiableList(Arrays.asList(variables));
+    }
+
+    /**
+     * Return if the template does not contain any variable.
+     * @return True if the template is a constant, false otherwise.
+     */
+    public boolean isConstant()
+    {
+        return variables.length == 0;
+    }
+
+    /**
+     * Expand the variables of the template with the values of an object instance.
+     * <br>
+     * The value of a variable is the one returned by the getter (<b>get</b> or <b>is</b>) or the record component
+     * accessor having the variable name, the name of an enumerated value being used for enumerations. The <b>this</b>
+     * variable refers to the instance itself when it is an enumerated value.
+     * @param instance Object instance containing the real values.
+     * @return Expanded text.
+     * @throws StringExpanderException Thrown to indicate an error occurred while trying to expand a variable.
+     */
+    public String expand(final Object instance) throws StringExpanderException
+    {
+        if (variables.length == 0)
+        {
+            return text;
+        }
+
+        return render(new StringBuilder(text.length() + 16 * variables.length), instance).toString();
+    }
+
+    /**
+     * Render the template into a string builder, expanding its variables with the values of an object instance.
+     * @param builder String builder.
+     * @param instance Object instance containing the real values.
+     * @return String builder.
+     * @throws StringExpanderException Thrown to indicate an error occurred while trying to expand a variable.
+     * @see #expand(Object)
+     */
+    public StringBuilder render(final @NonNull StringBuilder builder, final Object instance) throws StringExpanderException
+    {
+        builder.append(literals[0]);
+
+        for (int i = 0; i < variables.length; i++)
+        {
+            builder.append(StringExpander.valueOf(instance, variables[i])).append(literals[i + 1]);
+        }
+
+        return builder;
+    }
+
+    @Override
+    public String toString()
+    {
+        return text;
+    }
+}
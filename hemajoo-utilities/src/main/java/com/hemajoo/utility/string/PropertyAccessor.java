@@ -0,0 +1,220 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.utility.string;
+
+import lombok.NonNull;
+import org.apache.commons.lang3.StringUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An accessor to the value of a variable (property) of a class, compiled once into a method handle.
+ * <br>
+ * Accessors are resolved once per (class, variable name) and cached in a {@link ClassValue}, so expanding a template
+ * against many objects of the same class neither walks the class hierarchy nor uses reflection again. A variable is
+ * resolved, in order, to:
+ * <ul>
+ *     <li>the enumerated value itself for the <b>this</b> variable of an enumeration,</li>
+ *     <li>the accessor of the record component having the variable name,</li>
+ *     <li>the <b>get</b> or <b>is</b> getter of the property having the variable name.</li>
+ * </ul>
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+final class PropertyAccessor
+{
+    /**
+     * Variable name referencing the instance itself (only valid for enumerations).
+     */
+    private static final String THIS = "this";
+
+    /**
+     * Generic type of the accessors: (Object) -> Object.
+     */
+    private static final MethodType GENERIC = MethodType.methodType(Object.class, Object.class);
+
+    /**
+     * Accessors (k = class, v = variable name, w = accessor).
+     */
+    private static final ClassValue<Map<String, PropertyAccessor>> ACCESSORS = new ClassValue<>()
+    {
+        @Override
+        protected Map<String, PropertyAccessor> computeValue(final Class<?> type)
+        {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    /**
+     * Method handle returning the value of the variable or <b>null</b> if the variable cannot be resolved.
+     */
+    private final MethodHandle getter;
+
+    /**
+     * Reason why the variable cannot be resolved or <b>null</b> if it can.
+     */
+    private final String error;
+
+    /**
+     * Create an accessor.
+     * @param getter Method handle returning the value of the variable or <b>null</b> if the variable cannot be resolved.
+     * @param error Reason why the variable cannot be resolved or <b>null</b> if it can.
+     */
+    private PropertyAccessor(final MethodHandle getter, final String error)
+    {
+        this.getter = getter;
+        this.error = error;
+    }
+
+    /**
+     * Return the accessor of a variable of a class.
+     * @param type Class.
+     * @param name Variable name.
+     * @return Accessor.
+     */
+    static PropertyAccessor of(final @NonNull Class<?> type, final @NonNull String name)
+    {
+        Map<String, PropertyAccessor> accessors = ACCESSORS.get(type);
+        PropertyAccessor accessor = accessors.get(name);
+
+        return accessor != null ? accessor : accessors.computeIfAbsent(name, n -> resolve(type, n));
+    }
+
+    /**
+     * Return the value of the variable for an object instance, as a string.
+     * <br>
+     * Enumerated values are converted to their name, other values to their string representation.
+     * @param instance Object instance.
+     * @param name Variable name.
+     * @return Value.
+     * @throws StringExpanderException Thrown to indicate the value of the variable cannot be retrieved.
+     */
+    String get(final @NonNull Object instance, final @NonNull String name) throws StringExpanderException
+    {
+        if (getter == null)
+        {
+            throw new StringExpanderException(error);
+        }
+
+        Object value;
+
+        try
+        {
+            value = (Object) getter.invokeExact(instance);
+        }
+        catch (Throwable e)
+        {
+            throw new StringExpanderException(String.format("Cannot get value of variable: '%s' of object of type: '%s': %s", name, instance.getClass().getName(), e.getMessage()), e instanceof Exception exception ? exception : new RuntimeException(e));
+        }
+
+        if (value == null)
+        {
+            throw new StringExpanderException(String.format("Value of variable: '%s' of object of type: '%s' is null!", name, instance.getClass().getName()));
+        }
+
+        return value instanceof Enum<?> constant ? constant.name() : value.toString();
+    }
+
+    /**
+     * Resolve the accessor of a variable of a class.
+     * @param type Class.
+     * @param name Variable name.
+     * @return Accessor.
+     */
+    private static PropertyAccessor resolve(final @NonNull Class<?> type, final @NonNull String name)
+    {
+        try
+        {
+            if (THIS.equals(name) && Enum.class.isAssignableFrom(type))
+            {
+                return new PropertyAccessor(MethodHandles.identity(Object.class), null);
+            }
+
+            Method method = findMethod(type, name);
+            if (method == null)
+            {
+                return new PropertyAccessor(null, String.format("Cannot find getter of variable: '%s' in class: '%s'", name, type.getName()));
+            }
+
+            method.trySetAccessible(); // The class may not be public (ex.: nested class)
+
+            return new PropertyAccessor(MethodHandles.lookup().unreflect(method).asType(GENERIC), null);
+        }
+        catch (IllegalAccessException | RuntimeException e)
+        {
+            return new PropertyAccessor(null, String.format("Cannot access getter of variable: '%s' in class: '%s': %s", name, type.getName(), e.getMessage()));
+        }
+    }
+
+    /**
+     * Find the method returning the value of a variable of a class.
+     * @param type Class.
+     * @param name Variable name.
+     * @return Method or <b>null</b> if none has been found.
+     */
+    private static Method findMethod(final @NonNull Class<?> type, final @NonNull String name)
+    {
+        if (type.isRecord())
+        {
+            for (RecordComponent component : type.getRecordComponents())
+            {
+                if (component.getName().equals(name))
+                {
+                    return component.getAccessor();
+                }
+            }
+        }
+
+        String suffix = StringUtils.capitalize(name);
+        Method getter = findGetter(type, "get" + suffix);
+        if (getter == null)
+        {
+            getter = findGetter(type, "is" + suffix);
+            if (getter != null && getter.getReturnType() != boolean.class && getter.getReturnType() != Boolean.class)
+            {
+                getter = null;
+            }
+        }
+
+        return getter;
+    }
+
+    /**
+     * Find a public, non-static and parameterless method of a class.
+     * @param type Class.
+     * @param methodName Method name.
+     * @return Method or <b>null</b> if none has been found.
+     */
+    private static Method findGetter(final @NonNull Class<?> type, final @NonNull String methodName)
+    {
+        try
+        {
+            Method method = type.getMethod(methodName);
+
+            return Modifier.isStatic(method.getModifiers()) || method.getReturnType() == void.class ? null : method;
+        }
+        catch (NoSuchMethodException e)
+        {
+            return null;
+        }
+    }
+}
@@ -14,15 +14,19 @@
  */
 package com.hemajoo.utility.string;
 
-import com.hemajoo.utility.reflection.ReflectionHelper;
 import lombok.NonNull;
 import lombok.experimental.UtilityClass;
-import org.apache.commons.lang3.StringUtils;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Utility class providing convenient services for manipulating variables contained in <b>strings</b>.
@@ -47,6 +51,26 @@ public class StringExpander
      */
     private static final char ENCLOSING_END_CHARACTER = '}';
 
+    /**
+     * Maximum number of cached templates.
+     */
+    private static final int MAX_TEMPLATES = 4096;
+
+    /**
+     * Cached templates using the default pattern character (k = template text, v = compiled template).
+     */
+    private static final Map<String, ExpansionTemplate> TEMPLATES = new ConcurrentHashMap<>();
+
+    /**
+     * Size (in characters or bytes) of the chunks read when expanding a stream.
+     */
+    private static final int CHUNK_SIZE = 8192;
+
+    /**
+     * Maximum length (in characters or bytes) of a variable name when expanding a stream. A longer variable is written as is.
+     */
+    private static final int MAX_VARIABLE_LENGTH = 256;
+
 //    /**
 //     * Extract variables found in a given text string (a variable has the format: <code>${variable_name}</code>).
 //     * @param text Text containing variables.
@@ -91,11 +115,7 @@ public class StringExpander
      */
     public static boolean containsVariable(final @NonNull String text)
     {
-        final String startPattern = DEFAULT_PATTERN_CHARACTER + String.valueOf(ENCLOSING_START_CHARACTER);
-
-        int index = text.indexOf(startPattern);
-
-        return index >= 0;
+        return VariableScanner.contains(text, DEFAULT_PATTERN_CHARACTER);
     }
 
     /**
@@ -106,9 +126,7 @@ public class StringExpander
      */
     public static boolean containsVariable(final @NonNull String text, final char pattern)
     {
-        int index = text.indexOf(pattern + String.valueOf(ENCLOSING_START_CHARACTER));
-
-        return index >= 0;
+        return VariableScanner.contains(text, pattern);
     }
 
     /**
@@ -128,111 +146,332 @@ public class StringExpander
      */
     public static int count(final @NonNull String text, final char pattern)
     {
-        int count = 0;
-        int offset = 0;
+        return VariableScanner.count(text, pattern);
+    }
 
-        while (true)
+    /**
+     * Expand/replace variables with values in a given string.
+     * @param instance Object instance containing the real values.
+     * @param text Text containing the variables to be replaced/expanded by real variable values.
+     * @return Expanded text.
+     * @throws StringExpanderException Thrown to indicate an error occurred while trying to expand a string.
+     */
+    public static String expandVariables(final Object instance, final @NonNull String text) throws StringExpanderException
+    {
+        return expandVariables(DEFAULT_PATTERN_CHARACTER, instance, text);
+    }
+
+    /**
+     * Expand/replace variables with values in a given string.
+     * @param characterPattern Character used for variable pattern (ex.: standard is $ -> ${variable} but you are free to use another one).
+     * @param instance Object instance containing the real values.
+     * @param text Text containing the variables to be replaced/expanded by real variable values.
+     * @return Expanded text.
+     * @throws StringExpanderException Thrown to indicate an error occurred while trying to expand a string.
+     */
+    public static String expandVariables(final char characterPattern, final Object instance, final @NonNull String text) throws StringExpanderException
+    {
+        if (characterPattern == DEFAULT_PATTERN_CHARACTER)
+        {
+            return compile(text).expand(instance);
+        }
+
+        return containsVariable(text, characterPattern) ? ExpansionTemplate.compile(characterPattern, text).expand(instance) : text;
+    }
+
+    /**
+     * Compile a text containing variables into a template using the default pattern character (ex.: <code>${variable}</code>).
+     * <br>
+     * Templates are immutable and cached, so a text is only scanned once whatever the number of expansions.
+     * @param text Text containing variables.
+     * @return Template.
+     */
+    public static ExpansionTemplate compile(final @NonNull String text)
+    {
+        ExpansionTemplate template = TEMPLATES.get(text);
+        if (template == null)
         {
-            offset = findNextOccurrence(text, offset, pattern + String.valueOf(ENCLOSING_START_CHARACTER));
-            if (offset < 0)
+            template = ExpansionTemplate.compile(DEFAULT_PATTERN_CHARACTER, text);
+            if (TEMPLATES.size() < MAX_TEMPLATES)
             {
-                return count;
+                TEMPLATES.putIfAbsent(text, template);
             }
-
-            count ++;
-            offset = computeOffset(text, offset);
         }
+
+        return template;
     }
 
     /**
-     * Find the next occurrence of a given pattern in a string.
-     * @param text Text.
-     * @param offset Offset.
-     * @param pattern Pattern.
-     * @return Index of the occurrence, -1 if not found.
+     * Return the value of a variable for an object instance.
+     * <br>
+     * The accessor of the variable is resolved once per (class, variable name) and cached.
+     * @param instance Object instance containing the real values.
+     * @param name Variable name.
+     * @return Value.
+     * @throws StringExpanderException Thrown to indicate the value of the variable cannot be retrieved.
      */
-    private int findNextOccurrence(String text, int offset, String pattern)
+    static String valueOf(final Object instance, final @NonNull String name) throws StringExpanderException
     {
-        if (offset +1 > text.length())
+        if (instance == null)
         {
-            return -1;
+            throw new StringExpanderException(String.format("Cannot expand variable: '%s' without object instance!", name));
         }
 
-        return text.indexOf(pattern, offset);
+        return PropertyAccessor.of(instance.getClass(), name).get(instance, name);
     }
 
     /**
-     * Compute the offset of the position of the '}' character in a string.
-     * @param text Text.
-     * @param offset Offset to start from.
-     * @return Offset.
+     * Expand/replace variables with values while copying a stream of text.
+     * @param input Input text (ex.: a {@link java.io.Reader} or a {@link CharBuffer}).
+     * @param output Output receiving the expanded text (ex.: a {@link Writer} or a {@link StringBuilder}).
+     * @param instance Object instance containing the real values.
+     * @throws IOException Thrown to indicate an error occurred while reading or writing the text.
+     * @throws StringExpanderException Thrown to indicate an error occurred while trying to expand a variable.
+     * @see #expand(char, Readable, Appendable, Object)
      */
-    private int computeOffset(String text, int offset)
+    public static void expand(final @NonNull Readable input, final @NonNull Appendable output, final Object instance) throws IOException, StringExpanderException
     {
-        return text.indexOf(ENCLOSING_END_CHARACTER, offset);
+        expand(DEFAULT_PATTERN_CHARACTER, input, output, instance);
     }
 
     /**
-     * Expand/replace variables with values in a given string.
+     * Expand/replace variables with values while copying a stream of text.
+     * <br>
+     * The text is read and written chunk by chunk, so neither the input nor the output is held in memory, whatever
+     * their size. Only variable names up to {@value #MAX_VARIABLE_LENGTH} characters are expanded, a longer or
+     * unterminated variable being written as is.
+     * @param characterPattern Character used for variable pattern (ex.: standard is $ -> ${variable} but you are free to use another one).
+     * @param input Input text (ex.: a {@link java.io.Reader} or a {@link CharBuffer}).
+     * @param output Output receiving the expanded text (ex.: a {@link Writer} or a {@link StringBuilder}).
      * @param instance Object instance containing the real values.
-     * @param text Text containing the variables to be replaced/expanded by real variable values.
-     * @return Expanded text.
-     * @throws StringExpanderException Thrown to indicate an error occurred while trying to expand a string.
+     * @throws IOException Thrown to indicate an error occurred while reading or writing the text.
+     * @throws StringExpanderException Thrown to indicate an error occurred while trying to expand a variable.
      */
-    public static String expandVariables(final Object instance, final @NonNull String text) throws StringExpanderException
+    public static void expand(final char characterPattern, final @NonNull Readable input, final @NonNull Appendable output, final Object instance) throws IOException, StringExpanderException
     {
-        return expandVariables(DEFAULT_PATTERN_CHARACTER, instance, text);
+        char[] buffer = new char[CHUNK_SIZE];
+        CharBuffer chunk = CharBuffer.wrap(buffer);
+        StringBuilder name = new StringBuilder();
+        boolean pattern = false; // Pattern character read, waiting for the enclosing start character
+        boolean variable = false; // Reading a variable name
+        int length;
+
+        while ((length = input.read(chunk.clear())) >= 0)
+        {
+            int literal = 0; // Start of the pending literal text of the chunk
+
+            for (int i = 0; i < length; i++)
+            {
+                char c = buffer[i];
+
+                if (variable)
+                {
+                    if (c == ENCLOSING_END_CHARACTER)
+                    {
+                        output.append(valueOf(instance, name.toString()));
+                        variable = false;
+                        literal = i + 1;
+                    }
+                    else if (name.length() < MAX_VARIABLE_LENGTH)
+                    {
+                        name.append(c);
+                    }
+                    else
+                    {
+                        output.append(characterPattern).append(ENCLOSING_START_CHARACTER).append(name);
+                        variable = false;
+                        literal = i--; // Not a variable, the character is processed again as literal text
+                    }
+                }
+                else if (pattern)
+                {
+                    pattern = c == characterPattern;
+                    if (c == ENCLOSING_START_CHARACTER)
+                    {
+                        variable = true;
+                        name.setLength(0);
+                    }
+                    else
+                    {
+                        output.append(characterPattern);
+                        literal = i;
+                    }
+                }
+                else if (c == characterPattern)
+                {
+                    write(output, buffer, literal, i);
+                    pattern = true;
+                }
+            }
+
+            if (!pattern && !variable)
+            {
+                write(output, buffer, literal, length);
+            }
+        }
+
+        if (pattern)
+        {
+            output.append(characterPattern);
+        }
+        else if (variable)
+        {
+            output.append(characterPattern).append(ENCLOSING_START_CHARACTER).append(name);
+        }
     }
 
     /**
-     * Expand/replace variables with values in a given string.
-     * @param characterPattern Character used for variable pattern (ex.: standard is $ -> ${variable} but you are free to use another one).
+     * Expand/replace variables with values while copying a stream of UTF-8 encoded text.
+     * @param input Input text (UTF-8 encoded).
+     * @param output Output receiving the expanded text (UTF-8 encoded).
      * @param instance Object instance containing the real values.
-     * @param text Text containing the variables to be replaced/expanded by real variable values.
-     * @return Expanded text.
-     * @throws StringExpanderException Thrown to indicate an error occurred while trying to expand a string.
+     * @throws IOException Thrown to indicate an error occurred while reading or writing the text.
+     * @throws StringExpanderException Thrown to indicate an error occurred while trying to expand a variable.
+     * @see #expand(char, InputStream, OutputStream, Object)
      */
-    public static String expandVariables(final char characterPattern, final Object instance, final @NonNull String text) throws StringExpanderException
+    public static void expand(final @NonNull InputStream input, final @NonNull OutputStream output, final Object instance) throws IOException, StringExpanderException
     {
-        Object value;
-        Field field;
-        String result = text;
-        Class<?> declaringClass;
-        Method method;
+        expand(DEFAULT_PATTERN_CHARACTER, input, output, instance);
+    }
 
-        if (!containsVariable(text))
+    /**
+     * Expand/replace variables with values while copying a stream of UTF-8 encoded text.
+     * <br>
+     * Unlike {@link #expand(char, Readable, Appendable, Object)}, the text is never decoded: the pattern and enclosing
+     * characters can never be part of a UTF-8 multibyte sequence, so the literal text between two variables is found
+     * eight bytes at a time by the {@link VariableScanner} and copied as is. Only the variable names are decoded. Only
+     * variable names up to {@value #MAX_VARIABLE_LENGTH} bytes are expanded, a longer or unterminated variable being
+     * written as is.
+     * @param characterPattern Character used for variable pattern (must be an ASCII character).
+     * @param input Input text (UTF-8 encoded).
+     * @param output Output receiving the expanded text (UTF-8 encoded).
+     * @param instance Object instance containing the real values.
+     * @throws IOException Thrown to indicate an error occurred while reading or writing the text.
+     * @throws StringExpanderException Thrown to indicate an error occurred while trying to expand a variable.
+     */
+    public static void expand(final char characterPattern, final @NonNull InputStream input, final @NonNull OutputStream output, final Object instance) throws IOException, StringExpanderException
+    {
+        if (characterPattern > 0x7F)
         {
-            return text;
+            throw new IllegalArgumentException(String.format("Pattern character: '%s' must be an ASCII character!", characterPattern));
         }
 
-        for (String name : getVariableNames(characterPattern, text))
+        byte[] buffer = new byte[CHUNK_SIZE];
+        byte[] name = new byte[MAX_VARIABLE_LENGTH];
+        int nameLength = 0;
+        boolean pattern = false; // Pattern character read, waiting for the enclosing start character
+        boolean variable = false; // Reading a variable name
+        int length;
+
+        while ((length = input.read(buffer)) >= 0)
         {
-            if (name.equals("this") && instance.getClass().isEnum())
-            {
-                result = StringExpander.expandByName(characterPattern, result, name, ((Enum<?>) instance).name());
-            }
-            else
+            int literal = 0; // Start of the pending literal text of the chunk
+            int i = 0;
+
+            while (i < length)
             {
-                try
+                byte b = buffer[i];
+
+                if (variable)
+                {
+                    if (b == ENCLOSING_END_CHARACTER)
+                    {
+                        output.write(valueOf(instance, new String(name, 0, nameLength, StandardCharsets.UTF_8)).getBytes(StandardCharsets.UTF_8));
+                        variable = false;
+                        literal = i + 1;
+                    }
+                    else if (nameLength < MAX_VARIABLE_LENGTH)
+                    {
+                        name[nameLength++] = b;
+                    }
+                    else
+                    {
+                        output.write(characterPattern);
+                        output.write(ENCLOSING_START_CHARACTER);
+                        output.write(name, 0, nameLength);
+                        variable = false;
+                        literal = i;
+                        continue; // Not a variable, the byte is processed again as literal text
+                    }
+                    i++;
+                }
+                else if (pattern)
                 {
-                    field = ReflectionHelper.findFieldInObjectInstance(instance, name);
-                    declaringClass = instance.getClass();
-                    method = declaringClass.getMethod("get" + StringUtils.capitalize(field.getName()));
-                    value = method.invoke(instance);
-                    if (value instanceof Enum<?>)
+                    pattern = b == characterPattern;
+                    if (b == ENCLOSING_START_CHARACTER)
+                    {
+                        variable = true;
+                        nameLength = 0;
+                    }
+                    else
                     {
-                        value = ((Enum<?>) value).name();
+                        output.write(characterPattern);
+                        literal = i;
                     }
-                    result = StringExpander.expandByName(result, name, (String) value);
+                    i++;
                 }
-                catch (Exception e)
+                else
                 {
-                    throw new StringExpanderException(e);
+                    // Skip the literal text up to the next pattern character
+                    int next = VariableScanner.indexOf(buffer, i, length, (byte) characterPattern);
+                    if (next < 0)
+                    {
+                        i = length;
+                    }
+                    else
+                    {
+                        output.write(buffer, literal, next - literal);
+                        pattern = true;
+                        i = next + 1;
+                    }
                 }
             }
+
+            if (!pattern && !variable && literal < length)
+            {
+                output.write(buffer, literal, length - literal);
+            }
         }
 
-        return result;
+        if (pattern)
+        {
+            output.write(characterPattern);
+        }
+        else if (variable)
+        {
+            output.write(characterPattern);
+            output.write(ENCLOSING_START_CHARACTER);
+            output.write(name, 0, nameLength);
+        }
+    }
+
+    /**
+     * Write a range of characters to an output.
+     * @param output Output.
+     * @param buffer Characters.
+     * @param start Start index (inclusive).
+     * @param end End index (exclusive).
+     * @throws IOException Thrown to indicate an error occurred while writing the characters.
+     */
+    private static void write(final @NonNull Appendable output, final char[] buffer, final int start, final int end) throws IOException
+    {
+        if (start >= end)
+        {
+            return;
+        }
+
+        if (output instanceof Writer writer)
+        {
+            writer.write(buffer, start, end - start);
+        }
+        else if (output instanceof StringBuilder builder)
+        {
+            builder.append(buffer, start, end - start);
+        }
+        else
+        {
+            output.append(CharBuffer.wrap(buffer), start, end);
+        }
     }
 
     /**
@@ -358,21 +597,14 @@ public class StringExpander
      */
     public static List<String> getVariableNames(final char characterPattern, final @NonNull String text)
     {
-        int startOffset = 0;
-        int offset = 0;
-        List<String> variables = new ArrayList<>();
+        int[] spans = VariableScanner.scan(text, characterPattern);
+        List<String> variables = new ArrayList<>(spans.length / 2);
 
-        while (true)
+        for (int i = 0; i < spans.length / 2; i++)
         {
-            offset = findNextOccurrence(text, offset, characterPattern + String.valueOf(ENCLOSING_START_CHARACTER));
-            if (offset < 0)
-            {
-                return variables;
-            }
-
-            startOffset = offset + 2;
-            offset = computeOffset(text, offset);
-            variables.add(text.substring(startOffset, offset));
+            variables.add(VariableScanner.nameOf(text, spans, i));
         }
+
+        return variables;
     }
 }
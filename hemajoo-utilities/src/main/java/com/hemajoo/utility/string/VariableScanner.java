@@ -0,0 +1,203 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.utility.string;
+
+import lombok.NonNull;
+import lombok.experimental.UtilityClass;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Utility class scanning texts for variables (ex.: <code>${variable_name}</code>) in a single pass.
+ * <br><br>
+ * Variables are returned as <b>spans</b>: a flat array of (start, end) offset pairs, where <b>start</b> is the offset
+ * of the pattern character and <b>end</b> the offset following the enclosing end character. The name of the variable
+ * of a span is therefore found between <b>start + 2</b> and <b>end - 1</b>. Scanning a text without variable returns a
+ * shared empty array, and the spans of a text are collected in a single growing array, so nothing is allocated per
+ * variable.
+ * <br><br>
+ * Strings are scanned with {@link String#indexOf(int, int)}, which is intrinsified (vectorized) by the JVM. Byte arrays
+ * (ex.: the chunks of a UTF-8 encoded document expanded by {@link StringExpander}, whose pattern and enclosing characters
+ * can never be part of a multibyte sequence) are scanned eight bytes at a time (SWAR, SIMD within a register).
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@UtilityClass
+public class VariableScanner
+{
+    /**
+     * Spans of a text without variable.
+     */
+    private static final int[] NONE = new int[0];
+
+    /**
+     * Initial capacity (in offsets) of the spans array.
+     */
+    private static final int INITIAL_CAPACITY = 8;
+
+    /**
+     * Enclosing character starting a variable name.
+     */
+    private static final char ENCLOSING_START_CHARACTER = '{';
+
+    /**
+     * Enclosing character ending a variable name.
+     */
+    private static final char ENCLOSING_END_CHARACTER = '}';
+
+    /**
+     * View of a byte array as little endian longs.
+     */
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    /**
+     * Long word having the lowest bit of each byte set.
+     */
+    private static final long LOW_BITS = 0x0101010101010101L;
+
+    /**
+     * Long word having the highest bit of each byte set.
+     */
+    private static final long HIGH_BITS = 0x8080808080808080L;
+
+    /**
+     * Return if a text contains at least one variable.
+     * @param text Text.
+     * @param pattern Pattern character (ex.: standard is $ -> ${variable} but you are free to use another one).
+     * @return True if the text contains a variable, false otherwise.
+     */
+    public static boolean contains(final @NonNull String text, final char pattern)
+    {
+        return start(text, pattern, 0) >= 0;
+    }
+
+    /**
+     * Return the number of variables of a text.
+     * @param text Text.
+     * @param pattern Pattern character.
+     * @return Number of variables.
+     */
+    public static int count(final @NonNull String text, final char pattern)
+    {
+        int count = 0;
+
+        for (int start = start(text, pattern, 0); start >= 0; start = start(text, pattern, text.indexOf(ENCLOSING_END_CHARACTER, start + 2) + 1))
+        {
+            count++;
+        }
+
+        return count;
+    }
+
+    /**
+     * Scan a text for variables.
+     * @param text Text.
+     * @param pattern Pattern character.
+     * @return Spans of the variables (pairs of start and end offsets), empty if the text does not contain any variable.
+     */
+    public static int[] scan(final @NonNull String text, final char pattern)
+    {
+        int[] spans = NONE;
+        int size = 0;
+        int start = start(text, pattern, 0);
+
+        while (start >= 0)
+        {
+            if (size == spans.length)
+            {
+                spans = Arrays.copyOf(spans, Math.max(INITIAL_CAPACITY, size * 2));
+            }
+
+            int end = text.indexOf(ENCLOSING_END_CHARACTER, start + 2) + 1;
+            spans[size++] = start;
+            spans[size++] = end;
+            start = start(text, pattern, end);
+        }
+
+        return size == spans.length ? spans : Arrays.copyOf(spans, size);
+    }
+
+    /**
+     * Return the name of the variable of a span.
+     * @param text Scanned text.
+     * @param spans Spans of the variables.
+     * @param index Index of the variable (starting at 0).
+     * @return Variable name.
+     */
+    public static String nameOf(final @NonNull String text, final @NonNull int[] spans, final int index)
+    {
+        return text.substring(spans[index * 2] + 2, spans[index * 2 + 1] - 1);
+    }
+
+    /**
+     * Find the start of the next (terminated) variable of a text.
+     * @param text Text.
+     * @param pattern Pattern character.
+     * @param offset Offset to start from.
+     * @return Offset of the pattern character of the next variable or <b>-1</b> if none.
+     */
+    private static int start(final @NonNull String text, final char pattern, final int offset)
+    {
+        int start = text.indexOf(pattern, offset);
+        while (start >= 0 && (start + 1 >= text.length() || text.charAt(start + 1) != ENCLOSING_START_CHARACTER))
+        {
+            start = text.indexOf(pattern, start + 1);
+        }
+
+        if (start < 0 || text.indexOf(ENCLOSING_END_CHARACTER, start + 2) < 0)
+        {
+            return -1; // No more variable, an unterminated one is part of the literal text
+        }
+
+        return start;
+    }
+
+    /**
+     * Find the first occurrence of a byte in a range of bytes, eight bytes at a time.
+     * @param bytes Bytes.
+     * @param from Start offset (inclusive).
+     * @param to End offset (exclusive).
+     * @param value Byte to find.
+     * @return Offset of the byte or <b>-1</b> if not found.
+     */
+    static int indexOf(final @NonNull byte[] bytes, final int from, final int to, final byte value)
+    {
+        long pattern = (value & 0xFFL) * LOW_BITS;
+        int i = from;
+
+        for (; i + Long.BYTES <= to; i += Long.BYTES)
+        {
+            long word = (long) LONGS.get(bytes, i) ^ pattern; // Bytes equal to the value become zero
+            long found = (word - LOW_BITS) & ~word & HIGH_BITS; // The lowest set bit flags the first zero byte
+            if (found != 0)
+            {
+                return i + (Long.numberOfTrailingZeros(found) >>> 3);
+            }
+        }
+
+        for (; i < to; i++)
+        {
+            if (bytes[i] == value)
+            {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+}
@@ -14,14 +14,27 @@
  */
 package com.hemajoo.utility.test.string;
 
+import com.hemajoo.utility.string.ExpansionTemplate;
 import com.hemajoo.utility.string.StringExpander;
+import com.hemajoo.utility.string.StringExpanderException;
+import com.hemajoo.utility.string.VariableScanner;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 @Slf4j
@@ -97,4 +110,170 @@ class StringExpanderUnitTest
     {
         assertThat(StringExpander.expandByIndex(pattern, source, index, variableValue)).isEqualTo(target);
     }
+
+    @Test
+    @DisplayName("Compile and expand a template")
+    final void testCompileTemplate() throws StringExpanderException
+    {
+        ExpansionTemplate template = StringExpander.compile("state.${this}.name");
+
+        assertThat(template.getVariableNames()).containsExactly("this");
+        assertThat(template.isConstant()).isFalse();
+        assertThat(template.expand(Thread.State.NEW)).isEqualTo("state.NEW.name");
+        assertThat(StringExpander.compile("state.${this}.name")).isSameAs(template);
+        assertThat(StringExpander.compile("state.${this.name").isConstant()).isTrue();
+        assertThat(ExpansionTemplate.compile('@', "@{this}.${this}").expand(Thread.State.BLOCKED)).isEqualTo("BLOCKED.${this}");
+    }
+
+    /**
+     * Record used to test the expansion of record components.
+     * @param name Name.
+     * @param size Size.
+     * @param enabled Enabled flag.
+     */
+    record Item(String name, int size, boolean enabled) {}
+
+    @Test
+    @DisplayName("Expand variables from record components and non string values")
+    final void testExpandRecordVariables() throws StringExpanderException
+    {
+        Item item = new Item("disk", 42, true);
+
+        assertThat(StringExpander.expandVariables(item, "item.${name}.${size}.${enabled}")).isEqualTo("item.disk.42.true");
+        assertThat(StringExpander.expandVariables(item, "item.${name}")).isEqualTo("item.disk");
+    }
+
+    @Test
+    @DisplayName("Expand variables while streaming a text")
+    final void testExpandStream() throws IOException, StringExpanderException
+    {
+        Item item = new Item("disk", 42, true);
+        StringWriter output = new StringWriter();
+
+        StringExpander.expand(new StringReader("${name} has size: ${size} (${enabled}), cost: $10 ${unterminated"), output, item);
+
+        assertThat(output).hasToString("disk has size: 42 (true), cost: $10 ${unterminated");
+    }
+
+    @Test
+    @DisplayName("Expand variables while streaming a text across chunk boundaries")
+    final void testExpandStreamChunks() throws IOException, StringExpanderException
+    {
+        Item item = new Item("disk", 42, true);
+        String text = "${name}: $$ ${size}$ $${enabled} ${unterminated";
+        String expected = "disk: $$ 42$ $true ${unterminated";
+
+        // One character per read
+        assertThat(expand(oneCharPerRead(text), item)).isEqualTo(expected);
+
+        // Pattern, enclosing start character and variable name split across two chunks of 8192 characters
+        String prefix = "x".repeat(8189);
+        assertThat(expand(new StringReader(prefix + "${size}$${name}"), item)).isEqualTo(prefix + "42$disk");
+        assertThat(expand(new StringReader(prefix + "xx${size}"), item)).isEqualTo(prefix + "xx42");
+        assertThat(expand(new StringReader(prefix + "x$${size}"), item)).isEqualTo(prefix + "x$42");
+        assertThat(expand(new StringReader(prefix + "xx$"), item)).isEqualTo(prefix + "xx$");
+        assertThat(expand(new StringReader(prefix + "xx$$x"), item)).isEqualTo(prefix + "xx$$x");
+    }
+
+    /**
+     * Expand the variables of a stream of text.
+     * @param input Input text.
+     * @param item Object instance containing the real values.
+     * @return Expanded text.
+     * @throws IOException Thrown to indicate an error occurred while reading or writing the text.
+     * @throws StringExpanderException Thrown to indicate an error occurred while trying to expand a variable.
+     */
+    private static String expand(final @NonNull Readable input, final @NonNull Item item) throws IOException, StringExpanderException
+    {
+        StringBuilder output = new StringBuilder();
+        StringExpander.expand(input, output, item);
+
+        return output.toString();
+    }
+
+    /**
+     * Create a stream of text returning a single character per read.
+     * @param text Text.
+     * @return Readable.
+     */
+    private static Readable oneCharPerRead(final @NonNull String text)
+    {
+        StringReader reader = new StringReader(text);
+
+        return buffer -> {
+            int c = reader.read();
+            if (c < 0)
+            {
+                return -1;
+            }
+
+            buffer.put((char) c);
+            return 1;
+        };
+    }
+
+    @Test
+    @DisplayName("Scan the variable spans of strings")
+    final void testScanVariables()
+    {
+        String text = "-- ${name} costs $10 ${a{b}@{size} ${unterminated";
+        int[] spans = VariableScanner.scan(text, '$');
+
+        assertThat(spans).containsExactly(3, 10, 21, 27);
+        assertThat(VariableScanner.nameOf(text, spans, 1)).isEqualTo("a{b");
+        assertThat(VariableScanner.count(text, '$')).isEqualTo(2);
+        assertThat(VariableScanner.scan("no variable here", '$')).isEmpty();
+        assertThat(VariableScanner.contains("cost: $10 ${unterminated", '$')).isFalse();
+    }
+
+    @Test
+    @DisplayName("Expand variables while streaming a UTF-8 encoded text")
+    final void testExpandByteStream() throws IOException, StringExpanderException
+    {
+        Item item = new Item("d\u00e9", 42, true);
+        String text = "\u00e9t\u00e9: ${name} has size: ${size} (${enabled}), cost: $$10 ${unterminated";
+        String expected = "\u00e9t\u00e9: d\u00e9 has size: 42 (true), cost: $$10 ${unterminated";
+
+        assertThat(expandBytes(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)), item)).isEqualTo(expected);
+        assertThat(expandBytes(oneBytePerRead(text), item)).isEqualTo(expected);
+
+        // Variables split across two chunks of 8192 bytes
+        String prefix = "\u00e9".repeat(4094) + "x"; // 8189 bytes
+        assertThat(expandBytes(new ByteArrayInputStream((prefix + "${size}$${name}").getBytes(StandardCharsets.UTF_8)), item)).isEqualTo(prefix + "42$d\u00e9");
+        assertThat(expandBytes(new ByteArrayInputStream((prefix + "xx${size}").getBytes(StandardCharsets.UTF_8)), item)).isEqualTo(prefix + "xx42");
+        assertThat(expandBytes(new ByteArrayInputStream((prefix + "xx$").getBytes(StandardCharsets.UTF_8)), item)).isEqualTo(prefix + "xx$");
+    }
+
+    /**
+     * Expand the variables of a stream of UTF-8 encoded text.
+     * @param input Input text.
+     * @param item Object instance containing the real values.
+     * @return Expanded text.
+     * @throws IOException Thrown to indicate an error occurred while reading or writing the text.
+     * @throws StringExpanderException Thrown to indicate an error occurred while trying to expand a variable.
+     */
+    private static String expandBytes(final @NonNull InputStream input, final @NonNull Item item) throws IOException, StringExpanderException
+    {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        StringExpander.expand(input, output, item);
+
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Create a stream of UTF-8 encoded text returning a single byte per read.
+     * @param text Text.
+     * @return Input stream.
+     */
+    private static InputStream oneBytePerRead(final @NonNull String text)
+    {
+        return new FilterInputStream(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)))
+        {
+            @Override
+            public int read(final byte[] bytes, final int offset, final int length) throws IOException
+            {
+                return super.read(bytes, offset, Math.min(1, length));
+            }
+        };
+    }
 }